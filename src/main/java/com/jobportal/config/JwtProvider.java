@@ -1,15 +1,16 @@
 package com.jobportal.config;
 
+import com.jobportal.model.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * JWT Provider Service
@@ -18,27 +19,32 @@ import java.util.Date;
 @Service
 public class JwtProvider {
     
+    private static final String USER_ID_CLAIM = "userId";
+    private static final String ROLE_CLAIM = "role";
+    
     // Secret key for signing JWT tokens
     private final SecretKey secretKey = Keys.hmacShaKeyFor(JwtConstant.SECRET_KEY.getBytes());
 
-    /**
-     * Generate JWT Token from Authentication
-     * @param auth Spring Security Authentication object
-     * @return JWT token string
-     */
-    public String generateToken(Authentication auth) {
-        UserDetails userDetails = (UserDetails) auth.getPrincipal();
-        return generateTokenFromEmail(userDetails.getUsername());
-    }
+    @Value("${jobportal.security.token-cache.enabled:true}")
+    private boolean tokenCacheEnabled;
+
+    @Value("${jobportal.security.token-cache.max-size:10000}")
+    private int tokenCacheMaxSize;
+
+    // token -> principal, for tokens whose signature was already checked
+    private final ConcurrentHashMap<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
 
     /**
-     * Generate JWT Token from email
-     * @param email User's email
+     * Generate JWT Token for a user
+     * The token carries the user's id and role so requests can be authenticated from it alone
+     * @param user Authenticated user
      * @return JWT token string
      */
-    public String generateTokenFromEmail(String email) {
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email) // Set email as subject
+                .setSubject(user.getEmail()) // Set email as subject
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(ROLE_CLAIM, user.getRole())
                 .setIssuer(JwtConstant.JWT_ISSUER) // Set issuer
                 .setIssuedAt(new Date()) // Set issue date
                 .setExpiration(new Date(System.currentTimeMillis() + JwtConstant.JWT_EXPIRATION)) // Set expiration
@@ -47,39 +53,50 @@ public class JwtProvider {
     }
 
     /**
-     * Extract email from JWT token
+     * Verify a JWT token and read its claims - the signature is checked once per token
+     * Verified tokens are remembered until they expire (jobportal.security.token-cache)
      * @param token JWT token string
-     * @return email from token
+     * @return JwtUserPrincipal from the claims, or null if the token is invalid or expired.
+     *         Tokens issued before the id/role claims existed have a null userId and role.
      */
-    public String getEmailFromJwtToken(String token) {
+    public JwtUserPrincipal parseToken(String token) {
+        if (tokenCacheEnabled) {
+            VerifiedToken cached = verifiedTokens.get(token);
+            if (cached != null) {
+                if (cached.expiresAt > System.currentTimeMillis()) {
+                    return cached.principal;
+                }
+                verifiedTokens.remove(token, cached);
+            }
+        }
+
+        Claims claims;
         try {
-            Claims claims = Jwts.parserBuilder()
+            claims = Jwts.parserBuilder()
                     .setSigningKey(secretKey)
                     .build()
                     .parseClaimsJws(token)
                     .getBody();
-            return claims.getSubject();
         } catch (Exception e) {
-            throw new RuntimeException("Invalid JWT token: " + e.getMessage());
+            System.err.println("JWT validation error: " + e.getMessage());
+            return null;
         }
-    }
 
-    /**
-     * Validate JWT token
-     * @param token JWT token string
-     * @return true if token is valid, false otherwise
-     */
-    public boolean validateJwtToken(String token) {
-        try {
-            Jwts.parserBuilder()
-                    .setSigningKey(secretKey)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            System.err.println("JWT validation error: " + e.getMessage());
-            return false;
+        JwtUserPrincipal principal = new JwtUserPrincipal(
+                claims.get(USER_ID_CLAIM, String.class),
+                claims.getSubject(),
+                claims.get(ROLE_CLAIM, String.class));
+        if (tokenCacheEnabled && claims.getExpiration() != null) {
+            if (verifiedTokens.size() >= tokenCacheMaxSize) {
+                long now = System.currentTimeMillis();
+                verifiedTokens.values().removeIf(verified -> verified.expiresAt <= now);
+                if (verifiedTokens.size() >= tokenCacheMaxSize) {
+                    verifiedTokens.clear();
+                }
+            }
+            verifiedTokens.put(token, new VerifiedToken(principal, claims.getExpiration().getTime()));
         }
+        return principal;
     }
 
     /**
@@ -93,4 +110,14 @@ public class JwtProvider {
         }
         return null;
     }
+
+    private static final class VerifiedToken {
+        private final JwtUserPrincipal principal;
+        private final long expiresAt;
+
+        private VerifiedToken(JwtUserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
\ No newline at end of file
@@ -17,7 +17,8 @@ import java.io.IOException;
 
 /**
  * JWT Token Validation Filter
- * This filter intercepts every HTTP request and validates JWT tokens
+ * This filter intercepts every HTTP request and validates JWT tokens.
+ * The principal is built from the token's claims, so no database lookup is needed per request.
  */
 @Component
 public class JwtTokenValidation extends OncePerRequestFilter {
@@ -43,14 +44,15 @@ public class JwtTokenValidation extends OncePerRequestFilter {
             // Extract JWT token from header
             String jwt = jwtProvider.extractTokenFromHeader(authHeader);
             
-            // If token exists and is valid
-            if (jwt != null && jwtProvider.validateJwtToken(jwt)) {
-                
-                // Extract email from token
-                String email = jwtProvider.getEmailFromJwtToken(jwt);
+            // Verify the token once and read the user straight from its claims
+            JwtUserPrincipal principal = jwt != null ? jwtProvider.parseToken(jwt) : null;
+            
+            if (principal != null) {
                 
-                // Load user details
-                UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+                // Tokens issued before the id/role claims existed still need the user record
+                UserDetails userDetails = principal.getUserId() != null
+                        ? principal
+                        : customUserDetailsService.loadUserByUsername(principal.getEmail());
                 
                 // Create authentication token
                 UsernamePasswordAuthenticationToken authentication = 
@@ -0,0 +1,56 @@
+package com.jobportal.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JWT User Principal
+ * The authenticated user as described by a verified token's claims (userId, email, role).
+ * Built without touching the database; the password is never part of it.
+ */
+public class JwtUserPrincipal implements UserDetails {
+
+    private final String userId;
+    private final String email;
+    private final String role;
+    private final List<GrantedAuthority> authorities;
+
+    public JwtUserPrincipal(String userId, String email, String role) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        // Spring Security expects roles to have "ROLE_" prefix
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -0,0 +1,69 @@
+package com.jobportal.config;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * MongoDB Round Trip Counter
+ * Counts the commands sent to MongoDB on the current thread (one HTTP request at a time,
+ * reset by MongoRoundTripFilter) and in total. Useful to assert that listing endpoints stay N+1 free.
+ */
+@Configuration
+public class MongoRoundTripCounter {
+
+    private static final ThreadLocal<int[]> COUNT = ThreadLocal.withInitial(() -> new int[1]);
+
+    // All commands since startup, across threads
+    private static final LongAdder TOTAL = new LongAdder();
+
+    /**
+     * Get the number of MongoDB commands sent since the last reset on this thread
+     * @return Number of round trips
+     */
+    public static int current() {
+        return COUNT.get()[0];
+    }
+
+    /**
+     * Get the number of MongoDB commands sent by all threads since startup
+     * @return Number of round trips
+     */
+    public static long total() {
+        return TOTAL.sum();
+    }
+
+    /**
+     * Start counting from zero on this thread
+     */
+    public static void reset() {
+        COUNT.get()[0] = 0;
+    }
+
+    /**
+     * Forget the counter for this thread
+     */
+    public static void clear() {
+        COUNT.remove();
+    }
+
+    /**
+     * Register the command listener on the MongoDB client
+     * The sync driver calls commandStarted on the thread that issued the command
+     */
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoRoundTripCounterCustomizer() {
+        CommandListener listener = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                COUNT.get()[0]++;
+                TOTAL.increment();
+            }
+        };
+        return builder -> builder.addCommandListener(listener);
+    }
+}
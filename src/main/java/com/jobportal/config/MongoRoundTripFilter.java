@@ -0,0 +1,39 @@
+package com.jobportal.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * MongoDB Round Trip Filter
+ * Resets the per-request MongoDB round trip counter and records the total as a request attribute
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MongoRoundTripFilter extends OncePerRequestFilter {
+
+    /**
+     * Request attribute holding the number of MongoDB round trips made by the request
+     */
+    public static final String ROUND_TRIPS_ATTRIBUTE = "jobportal.mongoRoundTrips";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        MongoRoundTripCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            request.setAttribute(ROUND_TRIPS_ATTRIBUTE, MongoRoundTripCounter.current());
+            MongoRoundTripCounter.clear();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.jobportal.config;
+
+import com.jobportal.model.Application;
+import com.jobportal.model.Job;
+import com.jobportal.model.JobTombstone;
+import com.jobportal.model.User;
+import com.jobportal.repository.ApplicationRepository;
+import com.jobportal.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MongoDB Schema Initializer
+ * This component creates the indexes declared on our entities and backfills derived fields.
+ * It runs in the background after startup so a slow or unavailable database never blocks the app.
+ */
+@Component
+public class MongoSchemaInitializer {
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoMappingContext mongoMappingContext;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Value("${jobportal.mongo.initialize-schema:true}")
+    private boolean enabled;
+
+    @Value("${jobportal.mongo.backfill-batch-size:500}")
+    private int backfillBatchSize;
+
+    // Indexes this run created or found in place, as "collection.indexName"
+    private final Set<String> readyIndexes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start schema initialization once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread worker = new Thread(this::initialize, "mongo-schema-initializer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Ensure indexes, then run data backfills
+     */
+    public void initialize() {
+        // Each step runs on its own, so a failed index (e.g. the unique application index over existing
+        // duplicates) does not keep the backfills from running
+        for (Class<?> entity : List.of(User.class, Job.class, Application.class, JobTombstone.class)) {
+            ensureIndexes(entity);
+        }
+
+        try {
+            long jobs = jobRepository.backfillSearchFields(backfillBatchSize);
+            if (jobs > 0) {
+                System.out.println("Backfilled search fields for " + jobs + " jobs");
+            }
+        } catch (Exception e) {
+            System.err.println("Search field backfill failed: " + e.getMessage());
+        }
+
+        try {
+            long applications = applicationRepository.backfillDenormalizedRefs(backfillBatchSize);
+            if (applications > 0) {
+                System.out.println("Backfilled jobId/employerId for " + applications + " applications");
+            }
+        } catch (Exception e) {
+            System.err.println("jobId/employerId backfill failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Whether an index declared on an entity is known to exist
+     * False until initialization has created it, and for good if creating it failed or initialization is off
+     * @param entity Entity class
+     * @param indexName Index name from @CompoundIndex / @Indexed
+     * @return boolean - true once the index was created (or already existed)
+     */
+    public boolean isIndexReady(Class<?> entity, String indexName) {
+        return readyIndexes.contains(mongoTemplate.getCollectionName(entity) + "." + indexName);
+    }
+
+    // Helper methods
+
+    /**
+     * Create every index declared with @Indexed / @CompoundIndex on an entity
+     * A failed index is logged and the remaining ones are still created
+     * @param entity Entity class
+     */
+    private void ensureIndexes(Class<?> entity) {
+        try {
+            MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mongoMappingContext);
+            IndexOperations indexOps = mongoTemplate.indexOps(entity);
+            for (IndexDefinition index : resolver.resolveIndexFor(entity)) {
+                try {
+                    String name = indexOps.createIndex(index);
+                    readyIndexes.add(mongoTemplate.getCollectionName(entity) + "." + name);
+                } catch (Exception e) {
+                    System.err.println("Creating index " + index.getIndexOptions().get("name") + " on "
+                            + entity.getSimpleName() + " failed: " + e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Resolving indexes for " + entity.getSimpleName() + " failed: " + e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.jobportal.config;
 
 import com.jobportal.service.CustomUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -54,6 +55,9 @@ public class SecurityConfig {
             
             // Configure authorization rules
             .authorizeHttpRequests(authz -> authz
+                // Async dispatches finish a request that was already authorized (streamed exports)
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                
                 // Public endpoints (no authentication required)
                 .requestMatchers("/api/auth/**").permitAll()
                 .requestMatchers("/api/jobs/public/**").permitAll()
@@ -66,9 +70,11 @@ public class SecurityConfig {
                 
                 // Employer specific endpoints
                 .requestMatchers("/api/jobs/create").hasRole("EMPLOYER")
+                .requestMatchers("/api/jobs/import").hasRole("EMPLOYER")
                 .requestMatchers("/api/jobs/my-jobs").hasRole("EMPLOYER")
                 .requestMatchers("/api/applications/job/**").hasRole("EMPLOYER")
                 .requestMatchers("/api/applications/update-status").hasRole("EMPLOYER")
+                .requestMatchers("/api/applications/bulk-status").hasRole("EMPLOYER")
                 
                 // Protected endpoints (require authentication)
                 .requestMatchers("/api/users/**").authenticated()
@@ -1,18 +1,22 @@
 package com.jobportal.controller;
 
+import com.jobportal.exception.ConcurrentUpdateException;
 import com.jobportal.model.Application;
 import com.jobportal.request.ApplicationRequest;
+import com.jobportal.request.BulkStatusUpdateRequest;
 import com.jobportal.response.ApiResponse;
+import com.jobportal.response.BulkStatusUpdateResult;
 import com.jobportal.service.ApplicationService;
+import com.jobportal.util.IfMatch;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Application Controller
  * This controller handles application-related endpoints like applying for jobs, managing applications
@@ -47,18 +51,22 @@ public class ApplicationController {
     /**
      * Get my applications (for job seekers)
      * GET /api/applications/my-applications
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/my-applications")
-    public ResponseEntity<ApiResponse<Page<Application>>> getMyApplications(
+    public ResponseEntity<ApiResponse<Slice<Application>>> getMyApplications(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Page<Application> applications = applicationService.getMyApplications(page, size);
-            ApiResponse<Page<Application>> response = ApiResponse.success("Applications retrieved", applications);
+            Slice<Application> applications = cursor != null
+                    ? applicationService.scrollMyApplications(cursor, size)
+                    : applicationService.getMyApplications(page, size);
+            ApiResponse<Slice<Application>> response = ApiResponse.success("Applications retrieved", applications);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<Page<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
+            ApiResponse<Slice<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -66,18 +74,22 @@ public class ApplicationController {
     /**
      * Get applications for my jobs (for employers)
      * GET /api/applications/my-job-applications
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/my-job-applications")
-    public ResponseEntity<ApiResponse<Page<Application>>> getApplicationsForMyJobs(
+    public ResponseEntity<ApiResponse<Slice<Application>>> getApplicationsForMyJobs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Page<Application> applications = applicationService.getApplicationsForMyJobs(page, size);
-            ApiResponse<Page<Application>> response = ApiResponse.success("Applications retrieved", applications);
+            Slice<Application> applications = cursor != null
+                    ? applicationService.scrollApplicationsForMyJobs(cursor, size)
+                    : applicationService.getApplicationsForMyJobs(page, size);
+            ApiResponse<Slice<Application>> response = ApiResponse.success("Applications retrieved", applications);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<Page<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
+            ApiResponse<Slice<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -85,19 +97,23 @@ public class ApplicationController {
     /**
      * Get applications for a specific job (only job owner)
      * GET /api/applications/job/{jobId}
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/job/{jobId}")
-    public ResponseEntity<ApiResponse<Page<Application>>> getApplicationsForJob(
+    public ResponseEntity<ApiResponse<Slice<Application>>> getApplicationsForJob(
             @PathVariable String jobId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Page<Application> applications = applicationService.getApplicationsForJob(jobId, page, size);
-            ApiResponse<Page<Application>> response = ApiResponse.success("Applications retrieved", applications);
+            Slice<Application> applications = cursor != null
+                    ? applicationService.scrollApplicationsForJob(jobId, cursor, size)
+                    : applicationService.getApplicationsForJob(jobId, page, size);
+            ApiResponse<Slice<Application>> response = ApiResponse.success("Applications retrieved", applications);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<Page<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
+            ApiResponse<Slice<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -105,23 +121,50 @@ public class ApplicationController {
     /**
      * Update application status (only employers)
      * PATCH /api/applications/{applicationId}/status
+     * The version last read goes in the version parameter or an If-Match header; a stale one is answered with 409
      */
     @PatchMapping("/{applicationId}/status")
     public ResponseEntity<ApiResponse<Application>> updateApplicationStatus(
             @PathVariable String applicationId,
             @RequestParam String status,
-            @RequestParam(required = false) String employerNotes) {
+            @RequestParam(required = false) String employerNotes,
+            @RequestParam(required = false) Long version,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Application application = applicationService.updateApplicationStatus(applicationId, status, employerNotes);
+            Application application = applicationService.updateApplicationStatus(applicationId, status, employerNotes,
+                    IfMatch.version(version, ifMatch));
             ApiResponse<Application> response = ApiResponse.success("Application status updated", application);
             return ResponseEntity.ok(response);
             
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Answered with 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             ApiResponse<Application> response = ApiResponse.error("Failed to update application: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
     
+    /**
+     * Update the status of many applications at once (only employers)
+     * PATCH /api/applications/bulk-status
+     * Every ID gets an outcome: UPDATED, UNCHANGED, NOT_FOUND, FORBIDDEN or CONFLICT
+     */
+    @PatchMapping("/bulk-status")
+    public ResponseEntity<ApiResponse<BulkStatusUpdateResult>> bulkUpdateApplicationStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        try {
+            BulkStatusUpdateResult result = applicationService.bulkUpdateApplicationStatus(request);
+            ApiResponse<BulkStatusUpdateResult> response = ApiResponse.success(
+                    result.getUpdatedCount() + " applications updated", result);
+            return ResponseEntity.ok(response);
+            
+        } catch (Exception e) {
+            ApiResponse<BulkStatusUpdateResult> response = ApiResponse.error("Failed to update applications: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     /**
      * Get application by ID
      * GET /api/applications/{applicationId}
@@ -159,16 +202,23 @@ public class ApplicationController {
     /**
      * Get applications by status
      * GET /api/applications/status/{status}
+     * Paged; pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<ApiResponse<List<Application>>> getApplicationsByStatus(@PathVariable String status) {
+    public ResponseEntity<ApiResponse<Slice<Application>>> getApplicationsByStatus(
+            @PathVariable String status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<Application> applications = applicationService.getApplicationsByStatus(status);
-            ApiResponse<List<Application>> response = ApiResponse.success("Applications retrieved", applications);
+            Slice<Application> applications = cursor != null
+                    ? applicationService.scrollApplicationsByStatus(status, cursor, size)
+                    : applicationService.getApplicationsByStatus(status, page, size);
+            ApiResponse<Slice<Application>> response = ApiResponse.success("Applications retrieved", applications);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<List<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
+            ApiResponse<Slice<Application>> response = ApiResponse.error("Failed to get applications: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
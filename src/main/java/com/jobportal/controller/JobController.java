@@ -1,10 +1,14 @@
 package com.jobportal.controller;
 
+import java.io.IOException;
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,17 +18,27 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.jobportal.exception.ConcurrentUpdateException;
 import com.jobportal.model.Application;
 import com.jobportal.model.Job;
 import com.jobportal.request.JobRequest;
 import com.jobportal.response.ApiResponse;
+import com.jobportal.response.JobSummary;
 import com.jobportal.service.ApplicationService;
 import com.jobportal.service.JobService;
+import com.jobportal.service.ResponseByteCache;
+import com.jobportal.util.AcceptEncoding;
+import com.jobportal.util.ExportFormat;
+import com.jobportal.util.IfMatch;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 /**
@@ -40,6 +54,8 @@ public class JobController {
     private JobService jobService;
     @Autowired
     private ApplicationService applicationService;
+    @Autowired
+    private ResponseByteCache responseByteCache;
     
     /**
      * Create a new job posting (only employers)
@@ -58,19 +74,46 @@ public class JobController {
         }
     }
     
+    /**
+     * Import job postings in bulk from NDJSON or CSV (only employers)
+     * POST /api/jobs/import?format=ndjson|csv with the file as the request body
+     * The file is processed in batches as it arrives; one NDJSON result line per record is streamed back,
+     * followed by the totals. Records with an externalRef create the job once and update it on re-import
+     */
+    @PostMapping("/import")
+    public ResponseEntity<?> importJobs(@RequestParam(defaultValue = "ndjson") String format,
+                                        HttpServletRequest request) {
+        try {
+            ExportFormat importFormat = ExportFormat.parse(format);
+            StreamingResponseBody body = jobService.importJobs(request.getInputStream(), importFormat);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(ExportFormat.NDJSON.getContentType()))
+                    .body(body);
+        } catch (Exception e) {
+            ApiResponse<String> response = ApiResponse.error("Failed to import jobs: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     /**
      * Update existing job posting (only job owner)
      * PUT /api/jobs/{jobId}
+     * The version last read goes in the body or an If-Match header; a stale one is answered with 409
      */
     @PutMapping("/{jobId}")
     public ResponseEntity<ApiResponse<Job>> updateJob(
             @PathVariable String jobId,
-            @Valid @RequestBody JobRequest jobRequest) {
+            @Valid @RequestBody JobRequest jobRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
+            jobRequest.setVersion(IfMatch.version(jobRequest.getVersion(), ifMatch));
             Job updatedJob = jobService.updateJob(jobId, jobRequest);
             ApiResponse<Job> response = ApiResponse.success("Job updated successfully", updatedJob);
             return ResponseEntity.ok(response);
             
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Answered with 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             ApiResponse<Job> response = ApiResponse.error("Failed to update job: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -88,6 +131,9 @@ public class JobController {
             ApiResponse<String> response = ApiResponse.success("Job deleted successfully");
             return ResponseEntity.ok(response);
             
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Answered with 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             ApiResponse<String> response = ApiResponse.error("Failed to delete job: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -99,33 +145,76 @@ public class JobController {
      * GET /api/jobs/public/{jobId}
      */
     @GetMapping("/public/{jobId}")
-    public ResponseEntity<ApiResponse<Job>> getJobById(@PathVariable String jobId) {
+    public ResponseEntity<ApiResponse<Job>> getJobById(@PathVariable String jobId,
+                                                       HttpServletRequest request,
+                                                       HttpServletResponse servletResponse) throws IOException {
         try {
             Job job = jobService.getJobById(jobId);
+            if (responseByteCache.isEnabled()) {
+                responseByteCache.write(ResponseByteCache.jobKey(jobId, job.getUpdatedAt()),
+                        () -> ApiResponse.success("Job retrieved", job), request, servletResponse);
+                return null; // Body already written from the cached bytes
+            }
             ApiResponse<Job> response = ApiResponse.success("Job retrieved", job);
             return ResponseEntity.ok(response);
             
+        } catch (IOException e) {
+            throw e; // Writing the cached bytes failed - the response may already be committed
         } catch (Exception e) {
             ApiResponse<Job> response = ApiResponse.error("Job not found: " + e.getMessage());
             return ResponseEntity.notFound().build();
         }
     }
     
+    /**
+     * Stream the job feed for aggregators (public access)
+     * GET /api/jobs/public/feed?format=ndjson|xml&since=
+     * Streams every ACTIVE job in one response from a MongoDB cursor (gzipped on the fly when the client
+     * accepts it) instead of crawling /public/all page by page. Pass the nextSince token of the previous
+     * feed (body and X-Feed-Next-Since header) as since to get only what changed, with tombstones for
+     * jobs that were deleted or closed
+     */
+    @GetMapping("/public/feed")
+    public ResponseEntity<?> getJobFeed(@RequestParam(defaultValue = "ndjson") String format,
+                                        @RequestParam(required = false) String since,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            ExportFormat feedFormat = ExportFormat.parse(format, ExportFormat.NDJSON, ExportFormat.XML);
+            boolean gzip = AcceptEncoding.acceptsGzip(acceptEncoding);
+            JobService.FeedExport feed = jobService.exportJobFeed(feedFormat, since, gzip);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(feedFormat.getContentType()))
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .header("X-Feed-Next-Since", feed.getNextSince());
+            if (gzip) {
+                response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return response.body(feed.getBody());
+        } catch (Exception e) {
+            ApiResponse<String> response = ApiResponse.error("Failed to stream job feed: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
     /**
      * Get all active jobs with pagination (public access)
      * GET /api/jobs/public/all
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/public/all")
-    public ResponseEntity<ApiResponse<Page<Job>>> getAllActiveJobs(
+    public ResponseEntity<ApiResponse<Slice<JobSummary>>> getAllActiveJobs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Page<Job> jobs = jobService.getAllActiveJobs(page, size);
-            ApiResponse<Page<Job>> response = ApiResponse.success("Jobs retrieved", jobs);
+            Slice<JobSummary> jobs = cursor != null
+                    ? jobService.scrollActiveJobs(cursor, size)
+                    : jobService.getAllActiveJobs(page, size);
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.success("Jobs retrieved", jobs);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<Page<Job>> response = ApiResponse.error("Failed to get jobs: " + e.getMessage());
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.error("Failed to get jobs: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -133,18 +222,22 @@ public class JobController {
     /**
      * Get jobs posted by current employer
      * GET /api/jobs/my-jobs
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
      */
     @GetMapping("/my-jobs")
-    public ResponseEntity<ApiResponse<Page<Job>>> getMyJobs(
+    public ResponseEntity<ApiResponse<Slice<JobSummary>>> getMyJobs(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            Page<Job> jobs = jobService.getMyJobs(page, size);
-            ApiResponse<Page<Job>> response = ApiResponse.success("My jobs retrieved", jobs);
+            Slice<JobSummary> jobs = cursor != null
+                    ? jobService.scrollMyJobs(cursor, size)
+                    : jobService.getMyJobs(page, size);
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.success("My jobs retrieved", jobs);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<Page<Job>> response = ApiResponse.error("Failed to get jobs: " + e.getMessage());
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.error("Failed to get jobs: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -152,15 +245,17 @@ public class JobController {
     /**
      * Search jobs with filters (public access)
      * GET /api/jobs/public/search
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination, newest first
      */
     
     @GetMapping("/public/search")
-    public ResponseEntity<ApiResponse<Page<Job>>> searchJobs(
+    public ResponseEntity<ApiResponse<Slice<JobSummary>>> searchJobs(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String location,
             @RequestParam(required = false) String jobType,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
     	
     	
     	System.out.println("Search Params - Title: " + title + ", Location: " + location );
@@ -169,16 +264,18 @@ public class JobController {
     	 
         try {
         	System.out.println("Searching jobs with title:1111111111111111111111111111111111111111 ");
-            Page<Job> jobs = jobService.searchJobs(title, location, jobType, page, size);
+            Slice<JobSummary> jobs = cursor != null
+                    ? jobService.scrollJobs(title, location, jobType, cursor, size)
+                    : jobService.searchJobs(title, location, jobType, page, size);
             System.out.println("Searching jobs with title:22222222222222222222222222222222222222222 ");
-            ApiResponse<Page<Job>> response = ApiResponse.success("Search results", jobs);
-            System.out.println("Jobs found: " + jobs.getTotalElements());
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.success("Search results", jobs);
+            System.out.println("Jobs found: " + jobs.getNumberOfElements());
             return ResponseEntity.ok(response);
             
             
             
         } catch (Exception e) {
-            ApiResponse<Page<Job>> response = ApiResponse.error("Search failed: " + e.getMessage());
+            ApiResponse<Slice<JobSummary>> response = ApiResponse.error("Search failed: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -188,14 +285,24 @@ public class JobController {
      * GET /api/jobs/public/recent
      */
     @GetMapping("/public/recent")
-    public ResponseEntity<ApiResponse<List<Job>>> getRecentJobs(@RequestParam(defaultValue = "10") int limit) {
+    public ResponseEntity<ApiResponse<List<JobSummary>>> getRecentJobs(@RequestParam(defaultValue = "10") int limit,
+                                                                       HttpServletRequest request,
+                                                                       HttpServletResponse servletResponse) throws IOException {
         try {
-            List<Job> jobs = jobService.getRecentJobs(limit);
-            ApiResponse<List<Job>> response = ApiResponse.success("Recent jobs retrieved", jobs);
+            if (responseByteCache.isEnabled()) {
+                responseByteCache.write(ResponseByteCache.listKey("recent", limit),
+                        () -> ApiResponse.success("Recent jobs retrieved", jobService.getRecentJobs(limit)),
+                        request, servletResponse);
+                return null; // Body already written from the cached bytes
+            }
+            List<JobSummary> jobs = jobService.getRecentJobs(limit);
+            ApiResponse<List<JobSummary>> response = ApiResponse.success("Recent jobs retrieved", jobs);
             return ResponseEntity.ok(response);
             
+        } catch (IOException e) {
+            throw e; // Writing the cached bytes failed - the response may already be committed
         } catch (Exception e) {
-            ApiResponse<List<Job>> response = ApiResponse.error("Failed to get recent jobs: " + e.getMessage());
+            ApiResponse<List<JobSummary>> response = ApiResponse.error("Failed to get recent jobs: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -210,14 +317,24 @@ public class JobController {
      * GET /api/jobs/public/popular
      */
     @GetMapping("/public/popular")
-    public ResponseEntity<ApiResponse<List<Job>>> getPopularJobs(@RequestParam(defaultValue = "10") int limit) {
+    public ResponseEntity<ApiResponse<List<JobSummary>>> getPopularJobs(@RequestParam(defaultValue = "10") int limit,
+                                                                        HttpServletRequest request,
+                                                                        HttpServletResponse servletResponse) throws IOException {
         try {
-            List<Job> jobs = jobService.getPopularJobs(limit);
-            ApiResponse<List<Job>> response = ApiResponse.success("Popular jobs retrieved", jobs);
+            if (responseByteCache.isEnabled()) {
+                responseByteCache.write(ResponseByteCache.listKey("popular", limit),
+                        () -> ApiResponse.success("Popular jobs retrieved", jobService.getPopularJobs(limit)),
+                        request, servletResponse);
+                return null; // Body already written from the cached bytes
+            }
+            List<JobSummary> jobs = jobService.getPopularJobs(limit);
+            ApiResponse<List<JobSummary>> response = ApiResponse.success("Popular jobs retrieved", jobs);
             return ResponseEntity.ok(response);
             
+        } catch (IOException e) {
+            throw e; // Writing the cached bytes failed - the response may already be committed
         } catch (Exception e) {
-            ApiResponse<List<Job>> response = ApiResponse.error("Failed to get popular jobs: " + e.getMessage());
+            ApiResponse<List<JobSummary>> response = ApiResponse.error("Failed to get popular jobs: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -225,16 +342,22 @@ public class JobController {
     /**
      * Change job status
      * PATCH /api/jobs/{jobId}/status
+     * The version last read goes in the version parameter or an If-Match header; a stale one is answered with 409
      */
     @PatchMapping("/{jobId}/status")
     public ResponseEntity<ApiResponse<Job>> changeJobStatus(
             @PathVariable String jobId,
-            @RequestParam String status) {
+            @RequestParam String status,
+            @RequestParam(required = false) Long version,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         try {
-            Job updatedJob = jobService.changeJobStatus(jobId, status);
+            Job updatedJob = jobService.changeJobStatus(jobId, status, IfMatch.version(version, ifMatch));
             ApiResponse<Job> response = ApiResponse.success("Job status updated", updatedJob);
             return ResponseEntity.ok(response);
             
+        } catch (ConcurrentUpdateException | OptimisticLockingFailureException e) {
+            // Answered with 409 by GlobalExceptionHandler
+            throw e;
         } catch (Exception e) {
             ApiResponse<Job> response = ApiResponse.error("Failed to update job status: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
@@ -258,17 +381,47 @@ public class JobController {
         }
     }
     
- // JobController.java
+    /**
+     * Get applicants for a job (only job owner)
+     * GET /api/jobs/{jobId}/applicants
+     * Pass cursor (empty for the first slice, then nextCursor) for keyset pagination without a total count
+     */
     @GetMapping("/{jobId}/applicants")
-    public ResponseEntity<ApiResponse<List<Application>>> getJobApplicants(@PathVariable String jobId) {
-    	
-    	System.out.println("Fetching applicants for job ID: " + jobId);
+    public ResponseEntity<ApiResponse<Slice<Application>>> getJobApplicants(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<Application> applicants = applicationService.getApplicationsByJobId(jobId);
-            ApiResponse<List<Application>> response = ApiResponse.success("Applicants fetched successfully", applicants);
+            Slice<Application> applicants = cursor != null
+                    ? applicationService.scrollApplicationsForJob(jobId, cursor, size)
+                    : applicationService.getApplicationsForJob(jobId, page, size);
+            ApiResponse<Slice<Application>> response = ApiResponse.success("Applicants fetched successfully", applicants);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            ApiResponse<List<Application>> response = ApiResponse.error("Failed to fetch applicants: " + e.getMessage());
+            ApiResponse<Slice<Application>> response = ApiResponse.error("Failed to fetch applicants: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Export all applicants for a job as NDJSON or CSV (only job owner)
+     * GET /api/jobs/{jobId}/applicants/export?format=ndjson|csv
+     * The file is streamed from a MongoDB cursor as it is read, so exports of any size use constant memory
+     */
+    @GetMapping("/{jobId}/applicants/export")
+    public ResponseEntity<?> exportJobApplicants(@PathVariable String jobId,
+                                                 @RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.parse(format);
+            StreamingResponseBody body = applicationService.exportApplicantsForJob(jobId, exportFormat);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"applicants-" + jobId + "." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            ApiResponse<String> response = ApiResponse.error("Failed to export applicants: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
@@ -2,12 +2,18 @@ package com.jobportal.controller;
 
 import com.jobportal.request.UpdateProfileRequest;
 import com.jobportal.response.ApiResponse;
+import com.jobportal.response.CandidateSummary;
 import com.jobportal.response.UserResponse;
 import com.jobportal.service.UserService;
+import com.jobportal.util.ExportFormat;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -77,18 +83,42 @@ public class UserController {
     }
     
     /**
-     * Get all job seekers (only for employers)
+     * Get the candidate directory (only for employers)
      * GET /api/users/job-seekers
+     * Keyset pagination: pass cursor (empty for the first slice, then nextCursor) to continue
      */
     @GetMapping("/job-seekers")
-    public ResponseEntity<ApiResponse<List<UserResponse>>> getAllJobSeekers() {
+    public ResponseEntity<ApiResponse<Slice<CandidateSummary>>> getAllJobSeekers(
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String cursor) {
         try {
-            List<UserResponse> jobSeekers = userService.getAllJobSeekers();
-            ApiResponse<List<UserResponse>> response = ApiResponse.success("Job seekers retrieved", jobSeekers);
+            Slice<CandidateSummary> jobSeekers = userService.getCandidateDirectory(cursor, size);
+            ApiResponse<Slice<CandidateSummary>> response = ApiResponse.success("Job seekers retrieved", jobSeekers);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
-            ApiResponse<List<UserResponse>> response = ApiResponse.error("Failed to get job seekers: " + e.getMessage());
+            ApiResponse<Slice<CandidateSummary>> response = ApiResponse.error("Failed to get job seekers: " + e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    /**
+     * Export the candidate directory as NDJSON or CSV (only for employers)
+     * GET /api/users/job-seekers/export?format=ndjson|csv
+     * The file is streamed from a MongoDB cursor as it is read, so exports of any size use constant memory
+     */
+    @GetMapping("/job-seekers/export")
+    public ResponseEntity<?> exportJobSeekers(@RequestParam(defaultValue = "ndjson") String format) {
+        try {
+            ExportFormat exportFormat = ExportFormat.parse(format);
+            StreamingResponseBody body = userService.exportCandidateDirectory(exportFormat);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=\"job-seekers." + exportFormat.getExtension() + "\"")
+                    .body(body);
+        } catch (Exception e) {
+            ApiResponse<String> response = ApiResponse.error("Failed to export job seekers: " + e.getMessage());
             return ResponseEntity.badRequest().body(response);
         }
     }
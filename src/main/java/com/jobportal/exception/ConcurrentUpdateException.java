@@ -0,0 +1,25 @@
+package com.jobportal.exception;
+
+/**
+ * Concurrent Update Exception
+ * Thrown when a document was changed by someone else between reading and writing it
+ */
+public class ConcurrentUpdateException extends RuntimeException {
+    
+    public ConcurrentUpdateException(String message) {
+        super(message);
+    }
+    
+    public ConcurrentUpdateException(String message, Throwable cause) {
+        super(message, cause);
+    }
+    
+    // Static factory methods for common scenarios
+    public static ConcurrentUpdateException forJob(String jobId) {
+        return new ConcurrentUpdateException("Job was modified by another request, reload and try again: " + jobId);
+    }
+    
+    public static ConcurrentUpdateException forApplication(String applicationId) {
+        return new ConcurrentUpdateException("Application was modified by another request, reload and try again: " + applicationId);
+    }
+}
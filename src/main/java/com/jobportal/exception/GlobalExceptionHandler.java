@@ -1,6 +1,8 @@
 package com.jobportal.exception;
 
 import com.jobportal.response.ApiResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
@@ -9,6 +11,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -92,6 +95,16 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.CONFLICT);
     }
     
+    /**
+     * Handle lost compare-and-set updates (the document changed since it was read)
+     */
+    @ExceptionHandler({ ConcurrentUpdateException.class, OptimisticLockingFailureException.class })
+    public ResponseEntity<ApiResponse<String>> handleConcurrentUpdate(RuntimeException ex) {
+        ApiResponse<String> response = ApiResponse.error(ex instanceof ConcurrentUpdateException ? ex.getMessage()
+                : "The record was modified by another request, reload and try again");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+    
     /**
      * Handle unauthorized access exception
      */
@@ -110,6 +123,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handle I/O failures while writing a response (e.g. the client went away mid-body)
+     * Once the response is committed nothing more can be sent, so no error body is written
+     */
+    @ExceptionHandler(IOException.class)
+    public ResponseEntity<ApiResponse<String>> handleIOException(IOException ex, HttpServletResponse servletResponse) {
+        if (servletResponse.isCommitted()) {
+            return null;
+        }
+        ApiResponse<String> response = ApiResponse.error("Internal server error occurred");
+        return new ResponseEntity<>(response, HttpStatus.INTERNAL_SERVER_ERROR);
+    }
+    
     /**
      * Handle runtime exceptions
      */
@@ -1,6 +1,9 @@
 package com.jobportal.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
@@ -14,8 +17,23 @@ import java.time.LocalDateTime;
  * This represents a job application submitted by a job seeker for a specific job
  */
 @Document(collection = "applications") // MongoDB collection name
+@CompoundIndexes({
+    // A job seeker can apply only once per job - enforced by the database once the index is built
+    @CompoundIndex(name = Application.JOB_JOB_SEEKER_UNIQUE, def = "{ 'job': 1, 'jobSeeker': 1 }", unique = true),
+    // Employer dashboard - applications for all of an employer's jobs, newest first (_id breaks ties for cursors)
+    @CompoundIndex(name = "employerId_appliedAt_id", def = "{ 'employerId': 1, 'appliedAt': -1, '_id': -1 }"),
+    // Applications for one job, newest first
+    @CompoundIndex(name = "jobId_appliedAt_id", def = "{ 'jobId': 1, 'appliedAt': -1, '_id': -1 }"),
+    // Job seeker's own applications, newest first
+    @CompoundIndex(name = "jobSeeker_appliedAt_id", def = "{ 'jobSeeker.$id': 1, 'appliedAt': -1, '_id': -1 }"),
+    // Status tabs - one status at a time, newest first, for the job seeker and for the employer
+    @CompoundIndex(name = "jobSeeker_status_appliedAt_id", def = "{ 'jobSeeker.$id': 1, 'status': 1, 'appliedAt': -1, '_id': -1 }"),
+    @CompoundIndex(name = "employerId_status_appliedAt_id", def = "{ 'employerId': 1, 'status': 1, 'appliedAt': -1, '_id': -1 }")
+})
 public class Application {
     
+    public static final String JOB_JOB_SEEKER_UNIQUE = "job_jobSeeker_unique";
+    
     @Id
     private String id; // MongoDB generates this automatically
     
@@ -29,6 +47,10 @@ public class Application {
     @NotNull(message = "Job seeker reference is required")
     private User jobSeeker;
     
+    // Denormalized ids copied from the job reference so they can be indexed and queried directly
+    private String jobId;
+    private String employerId;
+    
     @NotBlank(message = "Cover letter is required")
     private String coverLetter;
     
@@ -49,6 +71,10 @@ public class Application {
     private String availabilityDate; // When can the candidate start
     private Boolean willingToRelocate;
     
+    // Optimistic concurrency - bumped on every edit, checked by compare-and-set writes
+    @Version
+    private Long version;
+    
     // Default constructor
     public Application() {
         this.appliedAt = LocalDateTime.now();
@@ -60,7 +86,7 @@ public class Application {
     // Constructor with required fields
     public Application(Job job, User jobSeeker, String coverLetter) {
         this();
-        this.job = job;
+        setJob(job);
         this.jobSeeker = jobSeeker;
         this.coverLetter = coverLetter;
     }
@@ -80,9 +106,19 @@ public class Application {
     
     public void setJob(Job job) {
         this.job = job;
+        this.jobId = (job != null) ? job.getId() : null;
+        this.employerId = (job != null && job.getEmployer() != null) ? job.getEmployer().getId() : null;
         this.updatedAt = LocalDateTime.now();
     }
     
+    public String getJobId() {
+        return jobId;
+    }
+    
+    public String getEmployerId() {
+        return employerId;
+    }
+    
     public User getJobSeeker() {
         return jobSeeker;
     }
@@ -184,6 +220,14 @@ public class Application {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Helper methods
     public boolean isPending() {
         return "PENDING".equals(status);
@@ -1,6 +1,10 @@
 package com.jobportal.model;
 
+import com.jobportal.util.SearchTokenizer;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 
@@ -16,6 +20,23 @@ import java.util.List;
  * This represents a job posting in our job portal system
  */
 @Document(collection = "jobs") // MongoDB collection name
+@CompoundIndexes({
+    // Active listings sorted by newest first (_id breaks ties for cursor pagination)
+    @CompoundIndex(name = "status_createdAt_id", def = "{ 'status': 1, 'createdAt': -1, '_id': -1 }"),
+    // Employer's own postings, newest first
+    @CompoundIndex(name = "employer_createdAt_id", def = "{ 'employer.$id': 1, 'createdAt': -1, '_id': -1 }"),
+    // Most viewed active jobs (home page feed)
+    @CompoundIndex(name = "status_viewCount", def = "{ 'status': 1, 'viewCount': -1 }"),
+    // Title keyword search on active jobs
+    @CompoundIndex(name = "status_titleTokens_createdAt", def = "{ 'status': 1, 'titleTokens': 1, 'createdAt': -1 }"),
+    // Job type filter on active jobs
+    @CompoundIndex(name = "status_jobTypeNormalized_createdAt", def = "{ 'status': 1, 'jobTypeNormalized': 1, 'createdAt': -1 }"),
+    // Incremental aggregator feed - jobs written since a point in time
+    @CompoundIndex(name = "updatedAt_id", def = "{ 'updatedAt': 1, '_id': 1 }"),
+    // One job per employer and external reference (bulk import upserts on it); jobs without one are not indexed
+    @CompoundIndex(name = "employer_externalRef_unique", def = "{ 'employer': 1, 'externalRef': 1 }", unique = true,
+                   partialFilter = "{ 'externalRef': { $exists: true } }")
+})
 public class Job {
     
     @Id
@@ -63,6 +84,9 @@ public class Job {
     private List<String> tags; // For better search functionality
     private String category; // "IT", "Marketing", "Sales", etc.
     
+    // The employer's own ID for this posting (set by bulk import, re-imports update the same job)
+    private String externalRef;
+    
     // Timestamps
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -71,6 +95,15 @@ public class Job {
     private Integer totalApplications;
     private Integer viewCount;
     
+    // Optimistic concurrency - bumped on every edit, checked by compare-and-set writes
+    @Version
+    private Long version;
+    
+    // Normalized search fields (derived from title, location and jobType, not exposed in API responses)
+    private List<String> titleTokens;
+    private List<String> locationTokens;
+    private String jobTypeNormalized;
+    
     // Default constructor
     public Job() {
         this.createdAt = LocalDateTime.now();
@@ -92,6 +125,9 @@ public class Job {
         this.jobType = jobType;
         this.experienceLevel = experienceLevel;
         this.employer = employer;
+        this.titleTokens = SearchTokenizer.tokenize(title);
+        this.locationTokens = SearchTokenizer.tokenize(location);
+        this.jobTypeNormalized = SearchTokenizer.normalize(jobType);
     }
     
     // Getters and Setters
@@ -109,6 +145,7 @@ public class Job {
     
     public void setTitle(String title) {
         this.title = title;
+        this.titleTokens = SearchTokenizer.tokenize(title);
         this.updatedAt = LocalDateTime.now();
     }
     
@@ -136,6 +173,7 @@ public class Job {
     
     public void setLocation(String location) {
         this.location = location;
+        this.locationTokens = SearchTokenizer.tokenize(location);
         this.updatedAt = LocalDateTime.now();
     }
     
@@ -145,6 +183,7 @@ public class Job {
     
     public void setJobType(String jobType) {
         this.jobType = jobType;
+        this.jobTypeNormalized = SearchTokenizer.normalize(jobType);
         this.updatedAt = LocalDateTime.now();
     }
     
@@ -299,6 +338,22 @@ public class Job {
         this.updatedAt = LocalDateTime.now();
     }
     
+    public String getExternalRef() {
+        return externalRef;
+    }
+    
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     // Helper methods
     public void incrementViewCount() {
         this.viewCount = (this.viewCount == null) ? 1 : this.viewCount + 1;
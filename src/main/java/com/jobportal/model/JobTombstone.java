@@ -0,0 +1,38 @@
+package com.jobportal.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Job Tombstone Entity Class
+ * Marks a deleted job so the incremental job feed can tell aggregators to drop it.
+ * Tombstones expire after RETENTION through a TTL index; older since-tokens are rejected.
+ */
+@Document(collection = "job_tombstones")
+public class JobTombstone {
+    
+    public static final Duration RETENTION = Duration.ofDays(30);
+    
+    @Id
+    private String id; // ID of the deleted job
+    
+    // Also serves the incremental feed's deletedAt range query
+    @Indexed(name = "deletedAt_ttl", expireAfter = "30d")
+    private LocalDateTime deletedAt;
+    
+    // Default constructor
+    public JobTombstone() {}
+    
+    public JobTombstone(String jobId) {
+        this.id = jobId;
+        this.deletedAt = LocalDateTime.now();
+    }
+    
+    // Getters
+    public String getId() { return id; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+}
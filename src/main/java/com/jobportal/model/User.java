@@ -2,6 +2,7 @@ package com.jobportal.model;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 
 import jakarta.validation.constraints.Email;
@@ -17,6 +18,8 @@ import java.util.List;
  * Can be either a Job Seeker or an Employer
  */
 @Document(collection = "users") // MongoDB collection name
+// Candidate directory - job seekers newest first (_id breaks ties for cursors)
+@CompoundIndex(name = "role_createdAt_id", def = "{ 'role': 1, 'createdAt': -1, '_id': -1 }")
 public class User {
     
     @Id
@@ -17,7 +17,7 @@ import java.util.Optional;
  * This interface provides database operations for Application entity
  */
 @Repository
-public interface ApplicationRepository extends MongoRepository<Application, String> {
+public interface ApplicationRepository extends MongoRepository<Application, String>, ApplicationRepositoryCustom {
     
     /**
      * Find applications by job seeker
@@ -58,20 +58,18 @@ public interface ApplicationRepository extends MongoRepository<Application, Stri
     
     /**
      * Find applications for jobs posted by a specific employer
-     * @param employer The employer who posted the jobs
+     * @param employerId The employer's user ID
      * @return List<Application> - List of applications for employer's jobs
      */
-    @Query("{ 'job.employer': ?0 }")
-    List<Application> findApplicationsForEmployer(User employer);
+    List<Application> findByEmployerId(String employerId);
     
     /**
      * Find applications for jobs posted by a specific employer with pagination
-     * @param employer The employer who posted the jobs
+     * @param employerId The employer's user ID
      * @param pageable Pagination information
      * @return Page<Application> - Paginated list of applications for employer's jobs
      */
-    @Query("{ 'job.employer': ?0 }")
-    Page<Application> findApplicationsForEmployer(User employer, Pageable pageable);
+    Page<Application> findByEmployerId(String employerId, Pageable pageable);
     
     /**
      * Check if job seeker has already applied for a specific job
@@ -121,12 +119,12 @@ public interface ApplicationRepository extends MongoRepository<Application, Stri
     
     /**
      * Find recent applications for an employer
-     * @param employer The employer
+     * @param employerId The employer's user ID
      * @param pageable Pagination information
      * @return Page<Application> - Recent applications for employer's jobs
      */
-    @Query(value = "{ 'job.employer': ?0 }", sort = "{ 'appliedAt': -1 }")
-    Page<Application> findRecentApplicationsForEmployer(User employer, Pageable pageable);
+    @Query(value = "{ 'employerId': ?0 }", sort = "{ 'appliedAt': -1 }")
+    Page<Application> findRecentApplicationsForEmployer(String employerId, Pageable pageable);
     
     /**
      * Find recent applications by job seeker
@@ -137,7 +135,18 @@ public interface ApplicationRepository extends MongoRepository<Application, Stri
     @Query(value = "{ 'jobSeeker': ?0 }", sort = "{ 'appliedAt': -1 }")
     Page<Application> findRecentApplicationsByJobSeeker(User jobSeeker, Pageable pageable);
     
-    List<Application> findByJob_Id(String jobId);
-
+    /**
+     * Find applications for a specific job by job ID
+     * @param jobId The job ID
+     * @return List<Application> - List of applications for the job
+     */
+    List<Application> findByJobId(String jobId);
     
+    /**
+     * Find applications for a specific job by job ID with pagination
+     * @param jobId The job ID
+     * @param pageable Pagination information
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findByJobId(String jobId, Pageable pageable);
 }
\ No newline at end of file
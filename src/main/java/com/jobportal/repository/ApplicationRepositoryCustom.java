@@ -0,0 +1,155 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.Application;
+import com.jobportal.response.BulkStatusUpdateResult;
+import com.jobportal.response.CursorSlice;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom Application Repository Interface
+ * This interface declares application operations that are built with MongoTemplate
+ */
+public interface ApplicationRepositoryCustom {
+    
+    /**
+     * Find applications by job seeker with job, employer and job seeker resolved in batch
+     * @param jobSeekerId The job seeker's user ID
+     * @param pageable Pagination information (Pageable.unpaged() for all)
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findResolvedByJobSeekerId(String jobSeekerId, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of findResolvedByJobSeekerId (newest first, no count query)
+     * @param jobSeekerId The job seeker's user ID
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Applications and the token for the next slice
+     */
+    CursorSlice<Application> findResolvedSliceByJobSeekerId(String jobSeekerId, String cursor, int size);
+    
+    /**
+     * Find applications for an employer's jobs with references resolved in batch
+     * @param employerId The employer's user ID
+     * @param pageable Pagination information (Pageable.unpaged() for all)
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findResolvedByEmployerId(String employerId, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of findResolvedByEmployerId (newest first, no count query)
+     * @param employerId The employer's user ID
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Applications and the token for the next slice
+     */
+    CursorSlice<Application> findResolvedSliceByEmployerId(String employerId, String cursor, int size);
+    
+    /**
+     * Find a job seeker's applications with one status (filtered in MongoDB, references resolved in batch)
+     * @param jobSeekerId The job seeker's user ID
+     * @param status Application status
+     * @param pageable Pagination information
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findResolvedByJobSeekerIdAndStatus(String jobSeekerId, String status, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of findResolvedByJobSeekerIdAndStatus (newest first, no count query)
+     * @param jobSeekerId The job seeker's user ID
+     * @param status Application status
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Applications and the token for the next slice
+     */
+    CursorSlice<Application> findResolvedSliceByJobSeekerIdAndStatus(String jobSeekerId, String status, String cursor, int size);
+    
+    /**
+     * Find applications with one status for an employer's jobs (filtered in MongoDB, references resolved in batch)
+     * @param employerId The employer's user ID
+     * @param status Application status
+     * @param pageable Pagination information
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findResolvedByEmployerIdAndStatus(String employerId, String status, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of findResolvedByEmployerIdAndStatus (newest first, no count query)
+     * @param employerId The employer's user ID
+     * @param status Application status
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Applications and the token for the next slice
+     */
+    CursorSlice<Application> findResolvedSliceByEmployerIdAndStatus(String employerId, String status, String cursor, int size);
+    
+    /**
+     * Find applications for a job with references resolved in batch
+     * @param jobId The job ID
+     * @param pageable Pagination information (Pageable.unpaged() for all)
+     * @return Page<Application> - Paginated list of applications
+     */
+    Page<Application> findResolvedByJobId(String jobId, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of findResolvedByJobId (newest first, no count query)
+     * @param jobId The job ID
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Applications and the token for the next slice
+     */
+    CursorSlice<Application> findResolvedSliceByJobId(String jobId, String cursor, int size);
+    
+    /**
+     * Walk every application for a job, newest first, with a MongoDB cursor (for exports)
+     * @param jobId The job ID
+     * @param batchSize Applications per cursor batch and per reference lookup
+     * @param consumer Receives each batch of applications with references resolved
+     */
+    void forEachResolvedBatchByJobId(String jobId, int batchSize, Consumer<List<Application>> consumer);
+    
+    /**
+     * Compare-and-set update: write the fields only if the application still has the version that was read
+     * The version is bumped, so a concurrent writer holding the same version fails instead of overwriting
+     * @param applicationId Application ID
+     * @param expectedVersion Version that was read (null for applications saved before versioning)
+     * @param fields Field name -> new value
+     * @return boolean - true if written, false if the application was changed or deleted in the meantime
+     */
+    boolean updateIfVersion(String applicationId, Long expectedVersion, Map<String, Object> fields);
+    
+    /**
+     * Change the status of many of an employer's applications at once
+     * One query reads the requested applications (ownership, status and version only), then every
+     * owned application is updated by one unordered bulk write, each as a compare-and-set on its version
+     * The writes carry a per-call tag, so the ones that lost to a concurrent write are identified exactly;
+     * the tag is taken off again before returning
+     * @param employerId The employer's user ID (must own every application that is changed)
+     * @param applicationIds Application IDs (without duplicates)
+     * @param status New status
+     * @param employerNotes Notes to set (null to leave them as they are)
+     * @return BulkStatusUpdateResult - Outcome per application, in request order
+     */
+    BulkStatusUpdateResult bulkUpdateStatus(String employerId, List<String> applicationIds, String status,
+                                            String employerNotes);
+    
+    /**
+     * Count a job seeker's applications per status with a single $group aggregation
+     * @param jobSeekerId The job seeker's user ID
+     * @return Map<String, Long> - Number of applications by status (statuses without applications are absent)
+     */
+    Map<String, Long> countByJobSeekerIdGroupedByStatus(String jobSeekerId);
+    
+    /**
+     * Copy jobId and employerId onto applications saved before those fields existed
+     * Until it has run, the employer and job queries above also match such applications by their job reference
+     * @param batchSize Number of applications updated per bulk write
+     * @return long - Number of applications updated
+     */
+    long backfillDenormalizedRefs(int batchSize);
+}
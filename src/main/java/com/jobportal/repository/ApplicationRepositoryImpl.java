@@ -0,0 +1,332 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.Application;
+import com.jobportal.response.BulkStatusUpdateResult;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.util.KeysetCursor;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Custom Application Repository Implementation
+ * Spring Data picks this class up automatically and merges it into ApplicationRepository
+ */
+public class ApplicationRepositoryImpl implements ApplicationRepositoryCustom {
+    
+    // Tags of the bulk status updates in flight on an application; removed again before each call returns
+    private static final String BULK_TAGS = "bulkUpdateIds";
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private DbRefBatchResolver dbRefBatchResolver;
+    
+    // Set once no application is left without jobId/employerId; new applications always get both
+    private volatile boolean denormalizedRefsComplete;
+    
+    @Override
+    public Page<Application> findResolvedByJobSeekerId(String jobSeekerId, Pageable pageable) {
+        Query query = new Query(Criteria.where("jobSeeker.$id").is(DbRefBatchResolver.toObjectId(jobSeekerId)));
+        return dbRefBatchResolver.findApplications(query, pageable);
+    }
+    
+    @Override
+    public Page<Application> findResolvedByEmployerId(String employerId, Pageable pageable) {
+        return dbRefBatchResolver.findApplications(new Query(byEmployer(employerId)), pageable);
+    }
+    
+    @Override
+    public Page<Application> findResolvedByJobId(String jobId, Pageable pageable) {
+        return dbRefBatchResolver.findApplications(new Query(byJob(jobId)), pageable);
+    }
+    
+    @Override
+    public CursorSlice<Application> findResolvedSliceByJobSeekerId(String jobSeekerId, String cursor, int size) {
+        Criteria criteria = Criteria.where("jobSeeker.$id").is(DbRefBatchResolver.toObjectId(jobSeekerId));
+        return dbRefBatchResolver.findApplicationSlice(criteria, cursor, size);
+    }
+    
+    @Override
+    public CursorSlice<Application> findResolvedSliceByEmployerId(String employerId, String cursor, int size) {
+        return dbRefBatchResolver.findApplicationSlice(byEmployer(employerId), cursor, size);
+    }
+    
+    @Override
+    public Page<Application> findResolvedByJobSeekerIdAndStatus(String jobSeekerId, String status, Pageable pageable) {
+        Query query = new Query(Criteria.where("jobSeeker.$id").is(DbRefBatchResolver.toObjectId(jobSeekerId))
+                .and("status").is(status));
+        return dbRefBatchResolver.findApplications(query, pageable);
+    }
+    
+    @Override
+    public CursorSlice<Application> findResolvedSliceByJobSeekerIdAndStatus(String jobSeekerId, String status,
+                                                                           String cursor, int size) {
+        Criteria criteria = Criteria.where("jobSeeker.$id").is(DbRefBatchResolver.toObjectId(jobSeekerId))
+                .and("status").is(status);
+        return dbRefBatchResolver.findApplicationSlice(criteria, cursor, size);
+    }
+    
+    @Override
+    public Page<Application> findResolvedByEmployerIdAndStatus(String employerId, String status, Pageable pageable) {
+        Query query = new Query(byEmployer(employerId).and("status").is(status));
+        return dbRefBatchResolver.findApplications(query, pageable);
+    }
+    
+    @Override
+    public CursorSlice<Application> findResolvedSliceByEmployerIdAndStatus(String employerId, String status,
+                                                                          String cursor, int size) {
+        Criteria criteria = byEmployer(employerId).and("status").is(status);
+        return dbRefBatchResolver.findApplicationSlice(criteria, cursor, size);
+    }
+    
+    @Override
+    public CursorSlice<Application> findResolvedSliceByJobId(String jobId, String cursor, int size) {
+        return dbRefBatchResolver.findApplicationSlice(byJob(jobId), cursor, size);
+    }
+    
+    @Override
+    public void forEachResolvedBatchByJobId(String jobId, int batchSize, Consumer<List<Application>> consumer) {
+        Query query = new Query(byJob(jobId)).with(KeysetCursor.sort("appliedAt"));
+        dbRefBatchResolver.forEachApplicationBatch(query, batchSize, consumer);
+    }
+    
+    @Override
+    public boolean updateIfVersion(String applicationId, Long expectedVersion, Map<String, Object> fields) {
+        Query query = new Query(Criteria.where("_id").is(DbRefBatchResolver.toObjectId(applicationId))
+                .and("version").is(expectedVersion));
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.inc("version", 1);
+        return mongoTemplate.updateFirst(query, update, Application.class).getMatchedCount() == 1;
+    }
+    
+    @Override
+    public BulkStatusUpdateResult bulkUpdateStatus(String employerId, List<String> applicationIds, String status,
+                                                   String employerNotes) {
+        // One query for all requested applications, only the fields the checks need
+        Query query = new Query(Criteria.where("_id").in(applicationIds.stream().map(DbRefBatchResolver::toObjectId).toList()));
+        query.fields().include("employerId", "job", "status", "version", "reviewedAt", "jobSeeker");
+        Map<String, Document> found = new HashMap<>();
+        for (Document application : mongoTemplate.find(query, Document.class, "applications")) {
+            found.put(application.get("_id").toString(), application);
+        }
+        Set<Object> ownedLegacyJobIds = ownedLegacyJobIds(employerId, found.values());
+        
+        LocalDateTime now = LocalDateTime.now();
+        // Tags this call's writes so the ones that were applied can be told apart below, even if another
+        // update (or another bulk call, which adds its own tag) changes the application right after
+        String bulkUpdateId = UUID.randomUUID().toString();
+        BulkStatusUpdateResult result = new BulkStatusUpdateResult();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "applications");
+        List<BulkStatusUpdateResult.Item> written = new ArrayList<>();
+        for (String applicationId : applicationIds) {
+            Document application = found.get(applicationId);
+            if (application == null) {
+                result.add(new BulkStatusUpdateResult.Item(applicationId, BulkStatusUpdateResult.NOT_FOUND));
+                continue;
+            }
+            boolean owned = application.containsKey("employerId")
+                    ? employerId.equals(application.getString("employerId"))
+                    : application.get("job") instanceof DBRef job && ownedLegacyJobIds.contains(job.getId());
+            if (!owned) {
+                result.add(new BulkStatusUpdateResult.Item(applicationId, BulkStatusUpdateResult.FORBIDDEN));
+                continue;
+            }
+            
+            String previousStatus = application.getString("status");
+            DBRef jobSeeker = application.get("jobSeeker", DBRef.class);
+            BulkStatusUpdateResult.Item item = new BulkStatusUpdateResult.Item(applicationId, BulkStatusUpdateResult.UPDATED,
+                    previousStatus, jobSeeker != null ? jobSeeker.getId().toString() : null);
+            result.add(item);
+            if (status.equals(previousStatus) && employerNotes == null) {
+                item.setOutcome(BulkStatusUpdateResult.UNCHANGED);
+                continue;
+            }
+            
+            // Same rules as Application.setStatus, as a compare-and-set on the version that was read
+            Update update = new Update().set("status", status).set("updatedAt", now).addToSet(BULK_TAGS, bulkUpdateId)
+                    .inc("version", 1);
+            if (!"PENDING".equals(status) && application.get("reviewedAt") == null) {
+                update.set("reviewedAt", now);
+            }
+            if (employerNotes != null) {
+                update.set("employerNotes", employerNotes);
+            }
+            bulk.updateOne(new Query(Criteria.where("_id").is(application.get("_id"))
+                    .and("version").is(application.get("version"))), update);
+            written.add(item);
+        }
+        
+        if (written.isEmpty()) {
+            return result;
+        }
+        List<Object> writtenIds = written.stream()
+                .map(item -> DbRefBatchResolver.toObjectId(item.getApplicationId())).toList();
+        try {
+            if (bulk.execute().getMatchedCount() < written.size()) {
+                // Some version checks failed: whatever does not carry this call's tag lost to a concurrent write
+                Query applied = new Query(Criteria.where("_id").in(writtenIds).and(BULK_TAGS).is(bulkUpdateId));
+                applied.fields().include("_id");
+                Set<String> appliedIds = new HashSet<>();
+                mongoTemplate.find(applied, Document.class, "applications")
+                        .forEach(application -> appliedIds.add(application.get("_id").toString()));
+                written.stream()
+                        .filter(item -> !appliedIds.contains(item.getApplicationId()))
+                        .forEach(item -> item.setOutcome(BulkStatusUpdateResult.CONFLICT));
+            }
+        } finally {
+            removeBulkTag(writtenIds, bulkUpdateId);
+        }
+        return result;
+    }
+    
+    @Override
+    public Map<String, Long> countByJobSeekerIdGroupedByStatus(String jobSeekerId) {
+        // One $group over the jobSeeker_appliedAt_id index instead of a count query per status
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.getCollection("applications").aggregate(List.of(
+                new Document("$match", new Document("jobSeeker.$id", DbRefBatchResolver.toObjectId(jobSeekerId))),
+                new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1)))
+        )).forEach(row -> counts.put(row.getString("_id"), ((Number) row.get("count")).longValue()));
+        return counts;
+    }
+    
+    @Override
+    public long backfillDenormalizedRefs(int batchSize) {
+        Query missing = new Query(Criteria.where("employerId").exists(false)).limit(batchSize);
+        missing.fields().include("job");
+        
+        long updated = 0;
+        List<Document> batch;
+        while (!(batch = mongoTemplate.find(missing, Document.class, "applications")).isEmpty()) {
+            // Load the employer of every referenced job with a single $in query
+            List<Object> jobIds = batch.stream()
+                    .map(application -> application.get("job", DBRef.class))
+                    .filter(Objects::nonNull)
+                    .map(DBRef::getId)
+                    .distinct()
+                    .toList();
+            Query jobsQuery = new Query(Criteria.where("_id").in(jobIds));
+            jobsQuery.fields().include("employer");
+            Map<Object, Object> employerIdsByJobId = new HashMap<>();
+            for (Document job : mongoTemplate.find(jobsQuery, Document.class, "jobs")) {
+                DBRef employer = job.get("employer", DBRef.class);
+                employerIdsByJobId.put(job.get("_id"), employer != null ? employer.getId() : null);
+            }
+            
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "applications");
+            for (Document application : batch) {
+                DBRef job = application.get("job", DBRef.class);
+                Object jobId = job != null ? job.getId() : null;
+                Object employerId = jobId != null ? employerIdsByJobId.get(jobId) : null;
+                
+                // Orphaned applications get explicit nulls so they are not picked up again
+                Update update = new Update()
+                        .set("jobId", jobId != null ? jobId.toString() : null)
+                        .set("employerId", employerId != null ? employerId.toString() : null);
+                bulk.updateOne(new Query(Criteria.where("_id").is(application.get("_id"))), update);
+            }
+            updated += bulk.execute().getModifiedCount();
+        }
+        denormalizedRefsComplete = true;
+        return updated;
+    }
+    
+    // Helper methods
+    
+    /**
+     * Applications for an employer's jobs; while the backfill is pending, legacy applications without
+     * employerId are matched through their job reference instead
+     */
+    private Criteria byEmployer(String employerId) {
+        Criteria denormalized = Criteria.where("employerId").is(employerId);
+        if (denormalizedRefsComplete()) {
+            return denormalized;
+        }
+        Query jobsQuery = new Query(Criteria.where("employer.$id").is(DbRefBatchResolver.toObjectId(employerId)));
+        jobsQuery.fields().include("_id");
+        List<Object> jobIds = mongoTemplate.find(jobsQuery, Document.class, "jobs").stream()
+                .map(job -> job.get("_id"))
+                .toList();
+        return new Criteria().orOperator(denormalized,
+                Criteria.where("employerId").exists(false).and("job.$id").in(jobIds));
+    }
+    
+    /**
+     * Applications for one job; while the backfill is pending, legacy applications without jobId are
+     * matched through their job reference instead
+     */
+    private Criteria byJob(String jobId) {
+        Criteria denormalized = Criteria.where("jobId").is(jobId);
+        if (denormalizedRefsComplete()) {
+            return denormalized;
+        }
+        return new Criteria().orOperator(denormalized,
+                Criteria.where("jobId").exists(false).and("job.$id").is(DbRefBatchResolver.toObjectId(jobId)));
+    }
+    
+    /**
+     * Whether every application has jobId and employerId; checked against the collection until it is
+     */
+    private boolean denormalizedRefsComplete() {
+        if (!denormalizedRefsComplete
+                && !mongoTemplate.exists(new Query(Criteria.where("employerId").exists(false)), "applications")) {
+            denormalizedRefsComplete = true;
+        }
+        return denormalizedRefsComplete;
+    }
+    
+    /**
+     * Ids of the jobs, among those referenced by applications without employerId, that the employer owns
+     */
+    private Set<Object> ownedLegacyJobIds(String employerId, Collection<Document> applications) {
+        List<Object> jobIds = applications.stream()
+                .filter(application -> !application.containsKey("employerId"))
+                .map(application -> application.get("job"))
+                .filter(DBRef.class::isInstance)
+                .map(job -> ((DBRef) job).getId())
+                .distinct()
+                .toList();
+        if (jobIds.isEmpty()) {
+            return Set.of();
+        }
+        Query jobsQuery = new Query(Criteria.where("_id").in(jobIds)
+                .and("employer.$id").is(DbRefBatchResolver.toObjectId(employerId)));
+        jobsQuery.fields().include("_id");
+        Set<Object> owned = new HashSet<>();
+        mongoTemplate.find(jobsQuery, Document.class, "jobs").forEach(job -> owned.add(job.get("_id")));
+        return owned;
+    }
+    
+    /**
+     * Take a bulk call's tag off its applications again; the field goes once no call's tag is left
+     */
+    private void removeBulkTag(List<Object> applicationIds, String bulkUpdateId) {
+        Document remaining = new Document("$setDifference", List.of("$" + BULK_TAGS, List.of(bulkUpdateId)));
+        mongoTemplate.getCollection("applications").updateMany(
+                new Document("_id", new Document("$in", applicationIds)).append(BULK_TAGS, bulkUpdateId),
+                List.of(new Document("$set", new Document(BULK_TAGS, new Document("$cond", List.of(
+                        new Document("$eq", List.of(remaining, List.of())), "$$REMOVE", remaining))))));
+    }
+}
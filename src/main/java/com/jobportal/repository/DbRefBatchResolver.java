@@ -0,0 +1,192 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.Application;
+import com.jobportal.model.Job;
+import com.jobportal.model.User;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.util.KeysetCursor;
+import com.mongodb.DBRef;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * DBRef Batch Resolver
+ * Loads Application listings without resolving each @DBRef with its own findById.
+ * The page is read as raw documents, all referenced ids are collected, every referenced
+ * collection is fetched once with $in, and the results are stitched back together.
+ * A page of applications costs at most 4 queries (applications, jobs, users, count)
+ * instead of one extra query per reference; a cursor slice skips the count.
+ */
+@Component
+public class DbRefBatchResolver {
+
+    private static final String APPLICATIONS = "applications";
+    private static final String JOBS = "jobs";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    /**
+     * Find a page of applications with job, job employer and job seeker resolved in batch
+     * @param query Query on raw application fields
+     * @param pageable Pagination information
+     * @return Page<Application> - Page of fully resolved applications
+     */
+    public Page<Application> findApplications(Query query, Pageable pageable) {
+        query.with(pageable);
+        List<Application> applications = readApplications(mongoTemplate.find(query, Document.class, APPLICATIONS));
+        return PageableExecutionUtils.getPage(applications, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), APPLICATIONS));
+    }
+
+    /**
+     * Find a slice of applications after a keyset cursor on (appliedAt, _id), references resolved in batch
+     * No count query is run
+     * @param criteria Criteria on raw application fields
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<Application> - Resolved applications and the token for the next slice
+     */
+    public CursorSlice<Application> findApplicationSlice(Criteria criteria, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Query query = new Query(after == null ? criteria : new Criteria().andOperator(criteria, after.after("appliedAt")))
+                .with(KeysetCursor.sort("appliedAt"))
+                .limit(KeysetCursor.fetchLimit(size));
+        List<Application> rows = readApplications(mongoTemplate.find(query, Document.class, APPLICATIONS));
+        return CursorSlice.of(rows, size,
+                application -> KeysetCursor.encode(application.getAppliedAt(), application.getId()));
+    }
+
+    /**
+     * Walk applications with a MongoDB cursor and hand them over in resolved batches
+     * Only one batch is held in memory; the next one is fetched after the consumer returns
+     * @param query Query on raw application fields (with its sort)
+     * @param batchSize Applications per cursor batch and per reference lookup
+     * @param consumer Receives each batch of resolved applications
+     */
+    public void forEachApplicationBatch(Query query, int batchSize, Consumer<List<Application>> consumer) {
+        query.cursorBatchSize(batchSize);
+        try (Stream<Document> docs = mongoTemplate.stream(query, Document.class, APPLICATIONS)) {
+            List<Document> batch = new ArrayList<>(batchSize);
+            Iterator<Document> cursor = docs.iterator();
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == batchSize) {
+                    consumer.accept(readApplications(batch));
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                consumer.accept(readApplications(batch));
+            }
+        }
+    }
+
+    /**
+     * Convert a String id to the ObjectId MongoDB stores for it (DBRef $id and _id values)
+     * @param id String id
+     * @return ObjectId if the id is a valid ObjectId, otherwise the id itself
+     */
+    public static Object toObjectId(String id) {
+        return ObjectId.isValid(id) ? new ObjectId(id) : id;
+    }
+
+    // Helper methods
+
+    private List<Application> readApplications(List<Document> applicationDocs) {
+        // One query for all referenced jobs
+        Set<Object> jobIds = collectRefIds(applicationDocs, "job");
+        List<Document> jobDocs = jobIds.isEmpty() ? List.of()
+                : mongoTemplate.find(new Query(Criteria.where("_id").in(jobIds)), Document.class, JOBS);
+
+        // One query for all job seekers and all employers of those jobs
+        Set<Object> userIds = collectRefIds(applicationDocs, "jobSeeker");
+        userIds.addAll(collectRefIds(jobDocs, "employer"));
+        Map<String, User> usersById = findUsers(userIds);
+
+        Map<String, Job> jobsById = readJobs(jobDocs, usersById).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+
+        List<Application> applications = new ArrayList<>(applicationDocs.size());
+        for (Document doc : applicationDocs) {
+            DBRef jobRef = (DBRef) doc.remove("job");
+            DBRef jobSeekerRef = (DBRef) doc.remove("jobSeeker");
+            Application application = mongoTemplate.getConverter().read(Application.class, doc);
+
+            // Setters touch updatedAt, so keep the stored value
+            LocalDateTime updatedAt = application.getUpdatedAt();
+            if (jobRef != null) {
+                Job job = jobsById.get(jobRef.getId().toString());
+                if (job != null) {
+                    application.setJob(job);
+                }
+            }
+            if (jobSeekerRef != null) {
+                application.setJobSeeker(usersById.get(jobSeekerRef.getId().toString()));
+            }
+            application.setUpdatedAt(updatedAt);
+            applications.add(application);
+        }
+        return applications;
+    }
+
+    private List<Job> readJobs(List<Document> jobDocs, Map<String, User> knownUsers) {
+        Map<String, User> usersById = new HashMap<>(knownUsers);
+        Set<Object> missingUserIds = collectRefIds(jobDocs, "employer");
+        missingUserIds.removeIf(id -> usersById.containsKey(id.toString()));
+        usersById.putAll(findUsers(missingUserIds));
+
+        List<Job> jobs = new ArrayList<>(jobDocs.size());
+        for (Document doc : jobDocs) {
+            DBRef employerRef = (DBRef) doc.remove("employer");
+            Job job = mongoTemplate.getConverter().read(Job.class, doc);
+            if (employerRef != null) {
+                LocalDateTime updatedAt = job.getUpdatedAt();
+                job.setEmployer(usersById.get(employerRef.getId().toString()));
+                job.setUpdatedAt(updatedAt);
+            }
+            jobs.add(job);
+        }
+        return jobs;
+    }
+
+    private Map<String, User> findUsers(Set<Object> userIds) {
+        if (userIds.isEmpty()) {
+            return new HashMap<>();
+        }
+        return mongoTemplate.find(new Query(Criteria.where("_id").in(userIds)), User.class).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private Set<Object> collectRefIds(List<Document> docs, String field) {
+        Set<Object> ids = new LinkedHashSet<>();
+        for (Document doc : docs) {
+            Object ref = doc.get(field);
+            if (ref instanceof DBRef dbRef) {
+                ids.add(dbRef.getId());
+            }
+        }
+        return ids;
+    }
+}
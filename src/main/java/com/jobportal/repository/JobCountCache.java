@@ -0,0 +1,132 @@
+package com.jobportal.repository;
+
+import com.jobportal.util.SearchTokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Job Count Cache
+ * Keeps the totalElements of job listings for a short time, keyed by the normalized filter,
+ * so paging through the same listing or search does not recount the collection on every page.
+ * Entries expire after jobportal.counts.ttl-ms and are all dropped whenever a job is created,
+ * edited, deleted or changes status.
+ */
+@Component
+public class JobCountCache {
+
+    private static final String ACTIVE_KEY = "status:ACTIVE";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jobportal.counts.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${jobportal.counts.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${jobportal.counts.approximate-active-total:false}")
+    private boolean approximateActiveTotal;
+
+    @Value("${jobportal.counts.ratio-refresh-ms:600000}")
+    private long ratioRefreshMs;
+
+    // normalized filter -> count
+    private final ConcurrentHashMap<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    // Bumped on every invalidation so a count started before a write is not cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    // Share of all jobs that were ACTIVE at the last exact count, used for the approximate total
+    private volatile CachedCount activeRatio;
+
+    /**
+     * Total for the active jobs listing
+     * In approximate mode this is the collection's metadata count scaled by the last known active share,
+     * which needs no index scan at all
+     * @param exactCount Exact count query
+     * @return long - Number of active jobs
+     */
+    public long countActive(LongSupplier exactCount) {
+        if (!approximateActiveTotal) {
+            return count(ACTIVE_KEY, exactCount);
+        }
+
+        CachedCount ratio = activeRatio;
+        if (ratio == null || ratio.isExpired()) {
+            long exact = exactCount.getAsLong();
+            long all = mongoTemplate.estimatedCount("jobs");
+            // Scaled by a million to keep the ratio in a long
+            activeRatio = new CachedCount(all == 0 ? 0 : exact * 1_000_000 / all, ratioRefreshMs);
+            return exact;
+        }
+        return mongoTemplate.estimatedCount("jobs") * ratio.value / 1_000_000;
+    }
+
+    /**
+     * Total for an active jobs search
+     * @param title Job title keywords (optional)
+     * @param location Job location (optional)
+     * @param jobType Job type (optional)
+     * @param exactCount Exact count query
+     * @return long - Number of matching jobs
+     */
+    public long countSearch(String title, String location, String jobType, LongSupplier exactCount) {
+        String key = "search:" + String.join(" ", SearchTokenizer.tokenize(title))
+                + "|" + String.join(" ", SearchTokenizer.tokenize(location))
+                + "|" + SearchTokenizer.normalize(jobType);
+        return count(key, exactCount);
+    }
+
+    /**
+     * Drop every cached total
+     * Called when a job is created, edited, deleted or changes status
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    // Helper methods
+
+    private long count(String key, LongSupplier exactCount) {
+        CachedCount cached = counts.get(key);
+        if (cached != null && !cached.isExpired()) {
+            return cached.value;
+        }
+
+        long startedAt = generation.get();
+        long value = exactCount.getAsLong();
+        if (generation.get() != startedAt) {
+            return value;
+        }
+        if (counts.size() >= maxEntries) {
+            counts.values().removeIf(CachedCount::isExpired);
+            if (counts.size() >= maxEntries) {
+                counts.clear();
+            }
+        }
+        counts.put(key, new CachedCount(value, ttlMs));
+        return value;
+    }
+
+    private static final class CachedCount {
+        private final long value;
+        private final long expiresAt;
+
+        private CachedCount(long value, long ttlMs) {
+            this.value = value;
+            this.expiresAt = System.currentTimeMillis() + ttlMs;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
+    }
+}
@@ -15,7 +15,7 @@ import java.util.List;
  * This interface provides database operations for Job entity
  */
 @Repository
-public interface JobRepository extends MongoRepository<Job, String> {
+public interface JobRepository extends MongoRepository<Job, String>, JobRepositoryCustom {
     
     /**
      * Find jobs by employer
@@ -109,6 +109,8 @@ public interface JobRepository extends MongoRepository<Job, String> {
     
     /**
      * Search jobs with multiple criteria
+     * Legacy regex query - cannot use an index, kept only for benchmark comparison.
+     * Use {@link JobRepositoryCustom#searchActiveJobs} instead.
      * @param title Job title keywords (optional)
      * @param location Job location (optional)
      * @param jobType Job type (optional)
@@ -117,6 +119,7 @@ public interface JobRepository extends MongoRepository<Job, String> {
      */
     
     //change on 26-08-2025
+    @Deprecated
     @Query("{ $and: [ " +
     	       "{ $or: [ { 'title': { $regex: ?0, $options: 'i' } }, { $expr: { $eq: [ ?0, null ] } } ] }, " +
     	       "{ $or: [ { 'location': { $regex: ?1, $options: 'i' } }, { $expr: { $eq: [ ?1, null ] } } ] }, " +
@@ -0,0 +1,186 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.Job;
+import com.jobportal.model.User;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.response.JobFeedEntry;
+import com.jobportal.response.JobImportReport;
+import com.jobportal.response.JobSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom Job Repository Interface
+ * This interface declares job queries that are built dynamically with MongoTemplate
+ */
+public interface JobRepositoryCustom {
+    
+    /**
+     * Search active jobs using only the filters that were supplied
+     * Matches against the normalized search fields so the query can use the compound indexes
+     * @param title Job title keywords (optional)
+     * @param location Job location (optional)
+     * @param jobType Job type (optional)
+     * @param pageable Pagination information
+     * @return Page<JobSummary> - Paginated search results
+     */
+    Page<JobSummary> searchActiveJobs(String title, String location, String jobType, Pageable pageable);
+    
+    /**
+     * Keyset-paginated variant of searchActiveJobs (newest first, no count query)
+     * @param title Job title keywords (optional)
+     * @param location Job location (optional)
+     * @param jobType Job type (optional)
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<JobSummary> - Matching jobs and the token for the next slice
+     */
+    CursorSlice<JobSummary> searchActiveJobsSlice(String title, String location, String jobType, String cursor, int size);
+    
+    /**
+     * Find job summaries by status (projection - no descriptions, no employer reference)
+     * @param status Job status
+     * @param pageable Pagination information
+     * @return Page<JobSummary> - Paginated list of job summaries
+     */
+    Page<JobSummary> findSummariesByStatus(String status, Pageable pageable);
+    
+    /**
+     * Find summaries of the jobs posted by an employer
+     * @param employerId The employer's user ID
+     * @param pageable Pagination information
+     * @return Page<JobSummary> - Paginated list of job summaries
+     */
+    Page<JobSummary> findSummariesByEmployerId(String employerId, Pageable pageable);
+    
+    /**
+     * Keyset-paginated job summaries by status (newest first, no count query)
+     * @param status Job status
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<JobSummary> - Job summaries and the token for the next slice
+     */
+    CursorSlice<JobSummary> findSummarySliceByStatus(String status, String cursor, int size);
+    
+    /**
+     * Keyset-paginated summaries of an employer's jobs (newest first, no count query)
+     * @param employerId The employer's user ID
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<JobSummary> - Job summaries and the token for the next slice
+     */
+    CursorSlice<JobSummary> findSummarySliceByEmployerId(String employerId, String cursor, int size);
+    
+    /**
+     * Find the first job summaries by status in the given order (no count query)
+     * @param status Job status
+     * @param sort Sort order
+     * @param limit Maximum number of jobs
+     * @return List<JobSummary> - Job summaries
+     */
+    List<JobSummary> findTopSummariesByStatus(String status, Sort sort, int limit);
+    
+    /**
+     * Find job summaries by id
+     * @param jobIds Job IDs
+     * @return List<JobSummary> - Summaries of the jobs that exist, in the order of the given ids
+     */
+    List<JobSummary> findSummariesByIds(Collection<String> jobIds);
+    
+    /**
+     * Stream every ACTIVE job as a feed entry from one MongoDB cursor (newest first)
+     * @param batchSize Documents per cursor batch
+     * @param consumer Receives each entry
+     */
+    void forEachActiveFeedEntry(int batchSize, Consumer<JobFeedEntry> consumer);
+    
+    /**
+     * Stream the feed changes made at or after a point in time, oldest first: jobs written since then
+     * (as tombstones if they are no longer ACTIVE), then the tombstones of jobs deleted since then
+     * @param since Start of the change window
+     * @param batchSize Documents per cursor batch
+     * @param consumer Receives each entry
+     */
+    void forEachFeedChange(LocalDateTime since, int batchSize, Consumer<JobFeedEntry> consumer);
+    
+    /**
+     * Record that a job was deleted, so the incremental feed can report it
+     * @param jobId ID of the deleted job
+     */
+    void recordDeletion(String jobId);
+    
+    /**
+     * Count an employer's jobs per status with a single $group aggregation
+     * @param employerId The employer's user ID
+     * @return Map<String, Long> - Number of jobs by status (statuses without jobs are absent)
+     */
+    Map<String, Long> countByEmployerIdGroupedByStatus(String employerId);
+    
+    /**
+     * Partially update a job owned by the given employer in one findAndModify
+     * Only the given fields are written ($set, or $unset for null values) together with the derived
+     * search fields and updatedAt; the ownership check is part of the query, so nothing is read first
+     * The version is bumped; when expectedVersion is given the write is also a compare-and-set on it
+     * @param jobId Job ID
+     * @param employerId The employer's user ID (must own the job)
+     * @param expectedVersion Version the client last read (null to skip the check)
+     * @param fields Field name -> new value
+     * @return Job - The updated job, or null if no job with this id (and version) is owned by the employer
+     */
+    Job updateOwnedJob(String jobId, String employerId, Long expectedVersion, Map<String, Object> fields);
+    
+    /**
+     * Compare-and-set update: write the fields only if the job still has the version that was read
+     * The version is bumped, so a concurrent writer holding the same version fails instead of overwriting
+     * @param jobId Job ID
+     * @param expectedVersion Version that was read (null for jobs saved before versioning)
+     * @param fields Field name -> new value
+     * @return boolean - true if written, false if the job was changed or deleted in the meantime
+     */
+    boolean updateIfVersion(String jobId, Long expectedVersion, Map<String, Object> fields);
+    
+    /**
+     * Write a batch of imported jobs, all posted by one employer, with one unordered bulk write
+     * Jobs without an externalRef are inserted (a batch of only those goes out as a single insertMany);
+     * jobs with one are upserted on (employer, externalRef), so importing the same record again updates
+     * that job instead of duplicating it - an existing job keeps its status, createdAt and counters
+     * New jobs start at version 0 on both paths; an updated job's version goes up by one
+     * @param employer Employer posting every job of the batch (the jobs' own employer field is not used)
+     * @param jobs Jobs to write; each written job gets its ID (and, if it already existed, its stored status and createdAt)
+     * @param lines Result of each job, in the same order - set to CREATED, UPDATED or FAILED
+     */
+    void importBatch(User employer, List<Job> jobs, List<JobImportReport.Line> lines);
+    
+    /**
+     * Fill in the normalized search fields for jobs saved before they existed
+     * @param batchSize Number of jobs updated per bulk write
+     * @return long - Number of jobs updated
+     */
+    long backfillSearchFields(int batchSize);
+    
+    /**
+     * Atomically add to a job's application counter with $inc (no read-modify-write)
+     * Decrements never take the counter below zero
+     * @param jobId Job ID
+     * @param delta Amount to add (negative to subtract)
+     */
+    void incrementTotalApplications(String jobId, int delta);
+    
+    /**
+     * Recompute totalApplications for every job from the applications collection
+     * Each correction is conditional on the counter read, so a job changed by a concurrent $inc is skipped;
+     * an application added or withdrawn after the read whose $inc lands only after the correction is applied twice
+     * until the next run (see JobCounterReconciler)
+     * @param batchSize Number of jobs checked per aggregation and bulk write
+     * @return long - Number of jobs whose counter was corrected
+     * @throws IllegalStateException if some applications are not backfilled with jobId yet (nothing is changed)
+     */
+    long reconcileTotalApplications(int batchSize);
+}
@@ -0,0 +1,457 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.Job;
+import com.jobportal.model.JobTombstone;
+import com.jobportal.model.User;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.response.JobFeedEntry;
+import com.jobportal.response.JobImportReport;
+import com.jobportal.response.JobSummary;
+import com.jobportal.util.KeysetCursor;
+import com.jobportal.util.SearchTokenizer;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.DBRef;
+import com.mongodb.bulk.BulkWriteUpsert;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Custom Job Repository Implementation
+ * Spring Data picks this class up automatically and merges it into JobRepository
+ */
+public class JobRepositoryImpl implements JobRepositoryCustom {
+    
+    // Fields an import upsert only writes when it creates the job
+    private static final Set<String> IMPORT_INSERT_ONLY_FIELDS = Set.of("status", "createdAt",
+            "totalApplications", "viewCount");
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Autowired
+    private JobCountCache jobCountCache;
+    
+    @Override
+    public Page<JobSummary> searchActiveJobs(String title, String location, String jobType, Pageable pageable) {
+        Query query = new Query(activeSearchCriteria(title, location, jobType));
+        if (pageable.getSort().isUnsorted()) {
+            query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
+        return findSummaries(query, pageable, exactCount -> jobCountCache.countSearch(title, location, jobType, exactCount));
+    }
+    
+    @Override
+    public CursorSlice<JobSummary> searchActiveJobsSlice(String title, String location, String jobType,
+                                                         String cursor, int size) {
+        return findSummarySlice(activeSearchCriteria(title, location, jobType), cursor, size);
+    }
+    
+    @Override
+    public Page<JobSummary> findSummariesByStatus(String status, Pageable pageable) {
+        Query query = new Query(Criteria.where("status").is(status));
+        if ("ACTIVE".equals(status)) {
+            return findSummaries(query, pageable, jobCountCache::countActive);
+        }
+        return findSummaries(query, pageable);
+    }
+    
+    @Override
+    public Page<JobSummary> findSummariesByEmployerId(String employerId, Pageable pageable) {
+        Query query = new Query(Criteria.where("employer.$id").is(DbRefBatchResolver.toObjectId(employerId)));
+        return findSummaries(query, pageable);
+    }
+    
+    @Override
+    public CursorSlice<JobSummary> findSummarySliceByStatus(String status, String cursor, int size) {
+        return findSummarySlice(Criteria.where("status").is(status), cursor, size);
+    }
+    
+    @Override
+    public CursorSlice<JobSummary> findSummarySliceByEmployerId(String employerId, String cursor, int size) {
+        return findSummarySlice(Criteria.where("employer.$id").is(DbRefBatchResolver.toObjectId(employerId)), cursor, size);
+    }
+    
+    @Override
+    public List<JobSummary> findTopSummariesByStatus(String status, Sort sort, int limit) {
+        Query query = new Query(Criteria.where("status").is(status)).with(sort).limit(limit);
+        query.fields().include(JobSummary.FIELDS);
+        return mongoTemplate.find(query, JobSummary.class, "jobs");
+    }
+    
+    @Override
+    public List<JobSummary> findSummariesByIds(Collection<String> jobIds) {
+        Query query = new Query(Criteria.where("_id").in(jobIds.stream().map(DbRefBatchResolver::toObjectId).toList()));
+        query.fields().include(JobSummary.FIELDS);
+        Map<String, JobSummary> summariesById = mongoTemplate.find(query, JobSummary.class, "jobs").stream()
+                .collect(Collectors.toMap(JobSummary::getId, Function.identity()));
+        return jobIds.stream().map(summariesById::get).filter(Objects::nonNull).toList();
+    }
+    
+    @Override
+    public long backfillSearchFields(int batchSize) {
+        Query missing = new Query(Criteria.where("titleTokens").exists(false)).limit(batchSize);
+        missing.fields().include("title", "location", "jobType");
+        
+        long updated = 0;
+        List<Document> batch;
+        while (!(batch = mongoTemplate.find(missing, Document.class, "jobs")).isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "jobs");
+            for (Document job : batch) {
+                Update update = new Update()
+                        .set("titleTokens", SearchTokenizer.tokenize(job.getString("title")))
+                        .set("locationTokens", SearchTokenizer.tokenize(job.getString("location")))
+                        .set("jobTypeNormalized", SearchTokenizer.normalize(job.getString("jobType")));
+                bulk.updateOne(new Query(Criteria.where("_id").is(job.get("_id"))), update);
+            }
+            updated += bulk.execute().getModifiedCount();
+        }
+        return updated;
+    }
+    
+    @Override
+    public void incrementTotalApplications(String jobId, int delta) {
+        Criteria criteria = Criteria.where("_id").is(jobId);
+        if (delta < 0) {
+            criteria = criteria.and("totalApplications").gte(-delta);
+        }
+        mongoTemplate.updateFirst(new Query(criteria), new Update().inc("totalApplications", delta), Job.class);
+    }
+    
+    @Override
+    public long reconcileTotalApplications(int batchSize) {
+        // Counts are grouped on the denormalized jobId; until every application has it, legacy jobs would be zeroed
+        if (mongoTemplate.exists(new Query(Criteria.where("jobId").exists(false)), "applications")) {
+            throw new IllegalStateException("Some applications have no jobId yet - waiting for the backfill");
+        }
+        
+        long corrected = 0;
+        Object lastId = null;
+        
+        while (true) {
+            // Walk the jobs collection in _id order, one batch at a time
+            Query jobsQuery = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+            if (lastId != null) {
+                jobsQuery.addCriteria(Criteria.where("_id").gt(lastId));
+            }
+            jobsQuery.fields().include("_id", "totalApplications");
+            List<Document> jobs = mongoTemplate.find(jobsQuery, Document.class, "jobs");
+            if (jobs.isEmpty()) {
+                return corrected;
+            }
+            lastId = jobs.get(jobs.size() - 1).get("_id");
+            
+            // Count applications for the whole batch with one aggregation on the indexed jobId field
+            List<String> jobIds = jobs.stream().map(job -> job.get("_id").toString()).toList();
+            Map<String, Integer> counts = new HashMap<>();
+            mongoTemplate.getCollection("applications").aggregate(List.of(
+                    new Document("$match", new Document("jobId", new Document("$in", jobIds))),
+                    new Document("$group", new Document("_id", "$jobId").append("count", new Document("$sum", 1)))
+            )).forEach(row -> counts.put(row.getString("_id"), row.getInteger("count")));
+            
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "jobs");
+            int changes = 0;
+            for (Document job : jobs) {
+                int actual = counts.getOrDefault(job.get("_id").toString(), 0);
+                Integer stored = job.getInteger("totalApplications");
+                if (stored == null || stored != actual) {
+                    // Only if the counter still holds the value read above: a job whose counter was moved by
+                    // a concurrent apply/withdraw is left for the next run instead of losing that $inc
+                    // (is(null) also matches a missing counter)
+                    bulk.updateOne(new Query(Criteria.where("_id").is(job.get("_id")).and("totalApplications").is(stored)),
+                            new Update().set("totalApplications", actual));
+                    changes++;
+                }
+            }
+            if (changes > 0) {
+                corrected += bulk.execute().getModifiedCount();
+            }
+        }
+    }
+    
+    @Override
+    public Job updateOwnedJob(String jobId, String employerId, Long expectedVersion, Map<String, Object> fields) {
+        Criteria owned = Criteria.where("_id").is(DbRefBatchResolver.toObjectId(jobId))
+                .and("employer.$id").is(DbRefBatchResolver.toObjectId(employerId));
+        if (expectedVersion != null) {
+            owned.and("version").is(expectedVersion);
+        }
+        
+        Update update = toUpdate(fields);
+        // Keep the normalized search fields in step with the values they are derived from
+        if (fields.containsKey("title")) {
+            update.set("titleTokens", SearchTokenizer.tokenize((String) fields.get("title")));
+        }
+        if (fields.containsKey("location")) {
+            update.set("locationTokens", SearchTokenizer.tokenize((String) fields.get("location")));
+        }
+        if (fields.containsKey("jobType")) {
+            update.set("jobTypeNormalized", SearchTokenizer.normalize((String) fields.get("jobType")));
+        }
+        update.set("updatedAt", LocalDateTime.now());
+        
+        return mongoTemplate.findAndModify(new Query(owned), update, FindAndModifyOptions.options().returnNew(true), Job.class);
+    }
+    
+    @Override
+    public boolean updateIfVersion(String jobId, Long expectedVersion, Map<String, Object> fields) {
+        Query query = new Query(Criteria.where("_id").is(DbRefBatchResolver.toObjectId(jobId))
+                .and("version").is(expectedVersion));
+        return mongoTemplate.updateFirst(query, toUpdate(fields), Job.class).getMatchedCount() == 1;
+    }
+    
+    @Override
+    public void importBatch(User employer, List<Job> jobs, List<JobImportReport.Line> lines) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        
+        DBRef employerRef = mongoTemplate.getConverter().toDBRef(employer, null);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, "jobs");
+        List<Object> ids = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(job, document);
+            document.put("employer", employerRef);
+            
+            if (job.getExternalRef() == null) {
+                // Same starting version as a job saved through the repository
+                ObjectId id = new ObjectId();
+                ids.add(id);
+                document.put("_id", id);
+                document.put("version", 0L);
+                bulk.insert(document);
+                continue;
+            }
+            ids.add(null); // Generated by the upsert, read from the bulk result
+            bulk.upsert(new Query(Criteria.where("employer").is(employerRef).and("externalRef").is(job.getExternalRef())),
+                    importUpsert(document));
+        }
+        
+        // Unordered: one failed write (e.g. two concurrent imports creating the same reference) does not stop the rest
+        BulkWriteResult result;
+        Map<Integer, String> errors = new HashMap<>();
+        try {
+            result = bulk.execute();
+        } catch (BulkOperationException e) {
+            result = e.getResult();
+            e.getErrors().forEach(error -> errors.put(error.getIndex(), error.getMessage()));
+        }
+        for (BulkWriteUpsert upsert : result.getUpserts()) {
+            ids.set(upsert.getIndex(), upsert.getId().asObjectId().getValue());
+        }
+        Set<Integer> upserted = result.getUpserts().stream().map(BulkWriteUpsert::getIndex).collect(Collectors.toSet());
+        
+        // Upserts that matched an existing job: look up its ID, status and createdAt in one query
+        List<String> matchedRefs = new ArrayList<>();
+        for (int i = 0; i < jobs.size(); i++) {
+            if (jobs.get(i).getExternalRef() != null && !upserted.contains(i) && !errors.containsKey(i)) {
+                matchedRefs.add(jobs.get(i).getExternalRef());
+            }
+        }
+        Map<String, Job> existing = new HashMap<>();
+        if (!matchedRefs.isEmpty()) {
+            Query query = new Query(Criteria.where("employer").is(employerRef).and("externalRef").in(matchedRefs));
+            query.fields().include("_id", "externalRef", "status", "createdAt");
+            mongoTemplate.find(query, Job.class)
+                    .forEach(stored -> existing.put(stored.getExternalRef(), stored));
+        }
+        
+        for (int i = 0; i < jobs.size(); i++) {
+            Job job = jobs.get(i);
+            JobImportReport.Line line = lines.get(i);
+            Job stored = job.getExternalRef() != null && !upserted.contains(i) ? existing.get(job.getExternalRef()) : null;
+            if (errors.containsKey(i)) {
+                line.rejected(JobImportReport.FAILED, List.of(errors.get(i)));
+            } else if (stored != null) {
+                job.setId(stored.getId());
+                job.setStatus(stored.getStatus());
+                job.setCreatedAt(stored.getCreatedAt());
+                line.succeeded(JobImportReport.UPDATED, job.getId());
+            } else if (job.getExternalRef() == null || upserted.contains(i)) {
+                job.setId(ids.get(i).toString());
+                line.succeeded(JobImportReport.CREATED, job.getId());
+            } else {
+                // Matched, then deleted before the lookup
+                line.rejected(JobImportReport.FAILED, List.of("Job was deleted during the import"));
+            }
+        }
+    }
+    
+    @Override
+    public void forEachActiveFeedEntry(int batchSize, Consumer<JobFeedEntry> consumer) {
+        // Walks the status_createdAt_id index
+        Query query = new Query(Criteria.where("status").is("ACTIVE"))
+                .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                .cursorBatchSize(batchSize);
+        query.fields().include(JobFeedEntry.FIELDS);
+        try (Stream<JobFeedEntry> entries = mongoTemplate.stream(query, JobFeedEntry.class, "jobs")) {
+            entries.forEach(consumer);
+        }
+    }
+    
+    @Override
+    public void forEachFeedChange(LocalDateTime since, int batchSize, Consumer<JobFeedEntry> consumer) {
+        // Walks the updatedAt_id index
+        Query changed = new Query(Criteria.where("updatedAt").gte(since))
+                .with(Sort.by(Sort.Direction.ASC, "updatedAt", "_id"))
+                .cursorBatchSize(batchSize);
+        changed.fields().include(JobFeedEntry.FIELDS);
+        try (Stream<JobFeedEntry> entries = mongoTemplate.stream(changed, JobFeedEntry.class, "jobs")) {
+            entries.forEach(entry -> consumer.accept("ACTIVE".equals(entry.getStatus())
+                    ? entry : JobFeedEntry.tombstone(entry.getId(), entry.getUpdatedAt())));
+        }
+        
+        Query deleted = new Query(Criteria.where("deletedAt").gte(since))
+                .with(Sort.by(Sort.Direction.ASC, "deletedAt"))
+                .cursorBatchSize(batchSize);
+        try (Stream<JobTombstone> tombstones = mongoTemplate.stream(deleted, JobTombstone.class)) {
+            tombstones.forEach(tombstone -> consumer.accept(JobFeedEntry.tombstone(tombstone.getId(), tombstone.getDeletedAt())));
+        }
+    }
+    
+    @Override
+    public void recordDeletion(String jobId) {
+        mongoTemplate.save(new JobTombstone(jobId));
+    }
+    
+    @Override
+    public Map<String, Long> countByEmployerIdGroupedByStatus(String employerId) {
+        // One $group over the employer_createdAt_id index instead of a count query per status
+        Map<String, Long> counts = new HashMap<>();
+        mongoTemplate.getCollection("jobs").aggregate(List.of(
+                new Document("$match", new Document("employer.$id", DbRefBatchResolver.toObjectId(employerId))),
+                new Document("$group", new Document("_id", "$status").append("count", new Document("$sum", 1)))
+        )).forEach(row -> counts.put(row.getString("_id"), ((Number) row.get("count")).longValue()));
+        return counts;
+    }
+    
+    // Helper methods
+    
+    /**
+     * $set the given fields ($unset for null values) and bump the version
+     */
+    private Update toUpdate(Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach((field, value) -> {
+            if (value == null) {
+                update.unset(field);
+            } else {
+                update.set(field, value);
+            }
+        });
+        return update.inc("version", 1);
+    }
+    
+    /**
+     * Run a query with the JobSummary field projection and wrap it in a page
+     */
+    private Page<JobSummary> findSummaries(Query query, Pageable pageable) {
+        return findSummaries(query, pageable, LongSupplier::getAsLong);
+    }
+    
+    /**
+     * Same as findSummaries, with the total taken from the exact count query by the given function
+     * (the count cache). The total is only asked for when the page alone cannot tell it.
+     */
+    private Page<JobSummary> findSummaries(Query query, Pageable pageable, ToLongFunction<LongSupplier> total) {
+        query.with(pageable);
+        query.fields().include(JobSummary.FIELDS);
+        List<JobSummary> summaries = mongoTemplate.find(query, JobSummary.class, "jobs");
+        LongSupplier exactCount = () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), "jobs");
+        return PageableExecutionUtils.getPage(summaries, pageable, () -> total.applyAsLong(exactCount));
+    }
+    
+    /**
+     * Upsert of one imported job as an update pipeline: insert-only fields keep their stored values, and
+     * the version starts at 0 like a repository insert or goes up by one like any other edit
+     */
+    private AggregationUpdate importUpsert(Document document) {
+        Document fields = new Document();
+        document.forEach((field, value) -> {
+            if ("_id".equals(field) || "employer".equals(field) || "externalRef".equals(field) || "version".equals(field)) {
+                return; // _id is generated, employer and externalRef come from the upsert query
+            }
+            // $literal: imported text is data, even when it starts with '$'
+            Document literal = new Document("$literal", value);
+            fields.put(field, IMPORT_INSERT_ONLY_FIELDS.contains(field)
+                    ? new Document("$ifNull", List.of("$" + field, literal)) : literal);
+        });
+        fields.put("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", -1L)), 1L)));
+        AggregationOperation set = context -> new Document("$set", fields);
+        return AggregationUpdate.from(List.of(set));
+    }
+    
+    /**
+     * Run a keyset query with the JobSummary projection: (createdAt, _id) after the cursor, no count
+     */
+    private CursorSlice<JobSummary> findSummarySlice(Criteria criteria, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Query query = new Query(after == null ? criteria : new Criteria().andOperator(criteria, after.after("createdAt")))
+                .with(KeysetCursor.sort("createdAt"))
+                .limit(KeysetCursor.fetchLimit(size));
+        query.fields().include(JobSummary.FIELDS);
+        List<JobSummary> rows = mongoTemplate.find(query, JobSummary.class, "jobs");
+        return CursorSlice.of(rows, size, job -> KeysetCursor.encode(job.getCreatedAt(), job.getId()));
+    }
+    
+    /**
+     * Build the active-jobs filter, skipping blank parameters
+     */
+    private Criteria activeSearchCriteria(String title, String location, String jobType) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(Criteria.where("status").is("ACTIVE"));
+        
+        // Every keyword must prefix-match one of the title tokens
+        List<String> titleTokens = SearchTokenizer.tokenize(title);
+        if (!titleTokens.isEmpty()) {
+            filters.add(Criteria.where("titleTokens").all(toPrefixPatterns(titleTokens)));
+        }
+        
+        List<String> locationTokens = SearchTokenizer.tokenize(location);
+        if (!locationTokens.isEmpty()) {
+            filters.add(Criteria.where("locationTokens").all(toPrefixPatterns(locationTokens)));
+        }
+        
+        String normalizedJobType = SearchTokenizer.normalize(jobType);
+        if (normalizedJobType != null) {
+            filters.add(Criteria.where("jobTypeNormalized").regex(SearchTokenizer.prefixRegex(normalizedJobType)));
+        }
+        return new Criteria().andOperator(filters.toArray(new Criteria[0]));
+    }
+    
+    private Object[] toPrefixPatterns(List<String> tokens) {
+        return tokens.stream()
+                .map(token -> Pattern.compile(SearchTokenizer.prefixRegex(token)))
+                .toArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.jobportal.repository;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Status Counters
+ * Optional per-user counts by status (an employer's jobs, a job seeker's applications) kept in the
+ * status_counters collection, so dashboard statistics are a single document read.
+ * A user's counters are seeded from the $group aggregation on first read and then moved with $inc on
+ * every status transition. They are dropped by the nightly reconciliation and reseeded on the next
+ * read, which bounds any drift from a write racing the seed.
+ * Enabled with jobportal.stats.counters.enabled; when disabled every read runs the aggregation.
+ */
+@Component
+public class StatusCounters {
+
+    public static final String EMPLOYER_JOBS = "jobs";
+    public static final String JOB_SEEKER_APPLICATIONS = "applications";
+
+    private static final String COLLECTION = "status_counters";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Value("${jobportal.stats.counters.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Get a user's counts by status
+     * @param kind What is counted (EMPLOYER_JOBS or JOB_SEEKER_APPLICATIONS)
+     * @param ownerId The user's ID
+     * @param aggregate Aggregation used when counters are disabled or not seeded yet
+     * @return Map<String, Long> - Counts by status
+     */
+    public Map<String, Long> get(String kind, String ownerId, Supplier<Map<String, Long>> aggregate) {
+        if (!enabled) {
+            return aggregate.get();
+        }
+
+        Document stored = mongoTemplate.findById(key(kind, ownerId), Document.class, COLLECTION);
+        if (stored != null) {
+            Map<String, Long> counts = new HashMap<>();
+            stored.get("counts", Document.class).forEach((status, count) -> counts.put(status, ((Number) count).longValue()));
+            return counts;
+        }
+
+        Map<String, Long> counts = aggregate.get();
+        Document seed = new Document();
+        counts.forEach((status, count) -> {
+            if (status != null) {
+                seed.append(status, count);
+            }
+        });
+        try {
+            mongoTemplate.insert(new Document("_id", key(kind, ownerId)).append("counts", seed), COLLECTION);
+        } catch (DuplicateKeyException e) {
+            // Seeded by a concurrent read
+        }
+        return counts;
+    }
+
+    /**
+     * Record a status transition
+     * Only touches counters that were already seeded
+     * @param kind What is counted (EMPLOYER_JOBS or JOB_SEEKER_APPLICATIONS)
+     * @param ownerId The user's ID
+     * @param fromStatus Previous status (null for a new item)
+     * @param toStatus New status (null for a removed item)
+     */
+    public void move(String kind, String ownerId, String fromStatus, String toStatus) {
+        if (!enabled || ownerId == null || (fromStatus != null && fromStatus.equals(toStatus))) {
+            return;
+        }
+
+        Update update = new Update();
+        if (fromStatus != null) {
+            update.inc("counts." + fromStatus, -1);
+        }
+        if (toStatus != null) {
+            update.inc("counts." + toStatus, 1);
+        }
+        mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(key(kind, ownerId))), update, COLLECTION);
+    }
+
+    /**
+     * Record many status transitions with one unordered bulk write
+     * @param kind What is counted (EMPLOYER_JOBS or JOB_SEEKER_APPLICATIONS)
+     * @param deltasByOwner User ID -> (status -> change in count)
+     */
+    public void moveAll(String kind, Map<String, Map<String, Long>> deltasByOwner) {
+        if (!enabled || deltasByOwner.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, COLLECTION);
+        deltasByOwner.forEach((ownerId, deltas) -> {
+            Update update = new Update();
+            deltas.forEach((status, delta) -> update.inc("counts." + status, delta));
+            bulk.updateOne(new Query(Criteria.where("_id").is(key(kind, ownerId))), update);
+        });
+        bulk.execute();
+    }
+
+    /**
+     * Drop every counter so it is reseeded from the aggregation on the next read
+     */
+    public void clear() {
+        if (enabled) {
+            mongoTemplate.remove(new Query(), COLLECTION);
+        }
+    }
+
+    // Helper methods
+
+    private String key(String kind, String ownerId) {
+        return kind + ":" + ownerId;
+    }
+}
@@ -14,7 +14,7 @@ import java.util.Optional;
  * MongoRepository provides basic CRUD operations automatically
  */
 @Repository
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
     
     /**
      * Find user by email (for login and authentication)
@@ -92,13 +92,6 @@ public interface UserRepository extends MongoRepository<User, String> {
     @Query("{ 'role': 'EMPLOYER' }")
     List<User> findAllEmployers();
     
-    /**
-     * Find all job seekers
-     * @return List<User> - List of all job seekers
-     */
-    @Query("{ 'role': 'JOB_SEEKER' }")
-    List<User> findAllJobSeekers();
-    
     /**
      * Find job seekers who have uploaded resume
      * @return List<User> - List of job seekers with resume
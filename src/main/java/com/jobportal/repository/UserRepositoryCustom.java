@@ -0,0 +1,40 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.User;
+import com.jobportal.response.CandidateSummary;
+import com.jobportal.response.CursorSlice;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Custom User Repository Interface
+ * This interface declares user queries that are built with MongoTemplate
+ */
+public interface UserRepositoryCustom {
+    
+    /**
+     * Keyset-paginated candidate directory: job seekers newest first, directory fields only, no count query
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return CursorSlice<CandidateSummary> - Candidates and the token for the next slice
+     */
+    CursorSlice<CandidateSummary> findCandidateSlice(String cursor, int size);
+    
+    /**
+     * Walk every job seeker, newest first, with a MongoDB cursor (for exports)
+     * Each document is mapped and handed over as it comes off the cursor
+     * @param batchSize Documents fetched per cursor batch
+     * @param consumer Receives each candidate
+     */
+    void forEachCandidate(int batchSize, Consumer<CandidateSummary> consumer);
+    
+    /**
+     * Partially update a user in one findAndModify
+     * Only the given fields ($set) and updatedAt are written; nothing is read first
+     * @param userId User ID
+     * @param fields Field name -> new value
+     * @return User - The updated user, or null if not found
+     */
+    User updateFields(String userId, Map<String, Object> fields);
+}
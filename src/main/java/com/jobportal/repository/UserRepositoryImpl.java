@@ -0,0 +1,60 @@
+package com.jobportal.repository;
+
+import com.jobportal.model.User;
+import com.jobportal.response.CandidateSummary;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Custom User Repository Implementation
+ * Spring Data picks this class up automatically and merges it into UserRepository
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    @Override
+    public CursorSlice<CandidateSummary> findCandidateSlice(String cursor, int size) {
+        Criteria jobSeekers = Criteria.where("role").is("JOB_SEEKER");
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Query query = new Query(after == null ? jobSeekers : new Criteria().andOperator(jobSeekers, after.after("createdAt")))
+                .with(KeysetCursor.sort("createdAt"))
+                .limit(KeysetCursor.fetchLimit(size));
+        query.fields().include(CandidateSummary.FIELDS);
+        List<CandidateSummary> rows = mongoTemplate.find(query, CandidateSummary.class, "users");
+        return CursorSlice.of(rows, size, candidate -> KeysetCursor.encode(candidate.getCreatedAt(), candidate.getId()));
+    }
+    
+    @Override
+    public void forEachCandidate(int batchSize, Consumer<CandidateSummary> consumer) {
+        Query query = new Query(Criteria.where("role").is("JOB_SEEKER"))
+                .with(KeysetCursor.sort("createdAt"))
+                .cursorBatchSize(batchSize);
+        query.fields().include(CandidateSummary.FIELDS);
+        try (Stream<CandidateSummary> candidates = mongoTemplate.stream(query, CandidateSummary.class, "users")) {
+            candidates.forEach(consumer);
+        }
+    }
+    
+    @Override
+    public User updateFields(String userId, Map<String, Object> fields) {
+        Update update = new Update();
+        fields.forEach(update::set);
+        update.set("updatedAt", LocalDateTime.now());
+        Query query = new Query(Criteria.where("_id").is(DbRefBatchResolver.toObjectId(userId)));
+        return mongoTemplate.findAndModify(query, update, FindAndModifyOptions.options().returnNew(true), User.class);
+    }
+}
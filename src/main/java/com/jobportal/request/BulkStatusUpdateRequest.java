@@ -0,0 +1,49 @@
+package com.jobportal.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Bulk Status Update Request DTO
+ * This class represents a status change an employer applies to many applications at once
+ */
+public class BulkStatusUpdateRequest {
+    
+    @NotEmpty(message = "At least one application ID is required")
+    private List<String> applicationIds;
+    
+    @NotBlank(message = "Status is required")
+    private String status;
+    
+    private String employerNotes; // Optional, applied to every application
+    
+    // Default constructor
+    public BulkStatusUpdateRequest() {}
+    
+    // Getters and Setters
+    public List<String> getApplicationIds() {
+        return applicationIds;
+    }
+    
+    public void setApplicationIds(List<String> applicationIds) {
+        this.applicationIds = applicationIds;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getEmployerNotes() {
+        return employerNotes;
+    }
+    
+    public void setEmployerNotes(String employerNotes) {
+        this.employerNotes = employerNotes;
+    }
+}
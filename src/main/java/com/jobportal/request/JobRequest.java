@@ -46,6 +46,12 @@ public class JobRequest {
     private List<String> tags;
     private String category;
     
+    // The employer's own ID for this posting (bulk import only) - records with the same one update the same job
+    private String externalRef;
+    
+    // Version the client last read (optional, or sent as If-Match) - when sent, an update made in the meantime is rejected
+    private Long version;
+    
     // Default constructor
     public JobRequest() {
         this.salaryCurrency = "USD";
@@ -180,6 +186,22 @@ public class JobRequest {
         this.category = category;
     }
     
+    public String getExternalRef() {
+        return externalRef;
+    }
+    
+    public void setExternalRef(String externalRef) {
+        this.externalRef = externalRef;
+    }
+    
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "JobRequest{" +
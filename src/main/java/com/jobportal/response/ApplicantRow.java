@@ -0,0 +1,96 @@
+package com.jobportal.response;
+
+import com.jobportal.model.Application;
+import com.jobportal.model.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Applicant Row DTO
+ * One line of the applicant export: the application and the job seeker's contact details,
+ * flat so it maps to a CSV line as well as to an NDJSON object
+ */
+public class ApplicantRow {
+
+    /**
+     * CSV column names, in the order of csvValues()
+     */
+    public static final String[] CSV_HEADER = { "applicationId", "status", "appliedAt", "reviewedAt",
+            "jobSeekerId", "firstName", "lastName", "email", "phone", "city", "resumeUrl", "expectedSalary",
+            "availabilityDate", "willingToRelocate", "coverLetter", "employerNotes" };
+
+    private String applicationId;
+    private String status;
+    private LocalDateTime appliedAt;
+    private LocalDateTime reviewedAt;
+    private String jobSeekerId;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String phone;
+    private String city;
+    private String resumeUrl;
+    private String expectedSalary;
+    private String availabilityDate;
+    private Boolean willingToRelocate;
+    private String coverLetter;
+    private String employerNotes;
+
+    /**
+     * Build a row from an application with its job seeker resolved
+     * @param application Application
+     * @return ApplicantRow
+     */
+    public static ApplicantRow from(Application application) {
+        ApplicantRow row = new ApplicantRow();
+        row.applicationId = application.getId();
+        row.status = application.getStatus();
+        row.appliedAt = application.getAppliedAt();
+        row.reviewedAt = application.getReviewedAt();
+        row.resumeUrl = application.getResumeUrl();
+        row.expectedSalary = application.getExpectedSalary();
+        row.availabilityDate = application.getAvailabilityDate();
+        row.willingToRelocate = application.getWillingToRelocate();
+        row.coverLetter = application.getCoverLetter();
+        row.employerNotes = application.getEmployerNotes();
+
+        User jobSeeker = application.getJobSeeker();
+        if (jobSeeker != null) {
+            row.jobSeekerId = jobSeeker.getId();
+            row.firstName = jobSeeker.getFirstName();
+            row.lastName = jobSeeker.getLastName();
+            row.email = jobSeeker.getEmail();
+            row.phone = jobSeeker.getPhone();
+            row.city = jobSeeker.getCity();
+        }
+        return row;
+    }
+
+    /**
+     * CSV cell values, in the order of CSV_HEADER
+     * @return Object[] - Cell values
+     */
+    public Object[] csvValues() {
+        return new Object[] { applicationId, status, appliedAt, reviewedAt, jobSeekerId, firstName, lastName,
+                email, phone, city, resumeUrl, expectedSalary, availabilityDate, willingToRelocate, coverLetter,
+                employerNotes };
+    }
+
+    // Getters
+    public String getApplicationId() { return applicationId; }
+    public String getStatus() { return status; }
+    public LocalDateTime getAppliedAt() { return appliedAt; }
+    public LocalDateTime getReviewedAt() { return reviewedAt; }
+    public String getJobSeekerId() { return jobSeekerId; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getCity() { return city; }
+    public String getResumeUrl() { return resumeUrl; }
+    public String getExpectedSalary() { return expectedSalary; }
+    public String getAvailabilityDate() { return availabilityDate; }
+    public Boolean getWillingToRelocate() { return willingToRelocate; }
+    public String getCoverLetter() { return coverLetter; }
+    public String getEmployerNotes() { return employerNotes; }
+}
@@ -0,0 +1,58 @@
+package com.jobportal.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk Status Update Result DTO
+ * Outcome of a bulk application status change, one item per requested application ID (in request order)
+ */
+public class BulkStatusUpdateResult {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+    public static final String FORBIDDEN = "FORBIDDEN";
+    public static final String CONFLICT = "CONFLICT";
+
+    private final List<Item> results = new ArrayList<>();
+
+    public void add(Item item) {
+        results.add(item);
+    }
+
+    public List<Item> getResults() { return results; }
+
+    public long getUpdatedCount() {
+        return results.stream().filter(item -> UPDATED.equals(item.getOutcome())).count();
+    }
+
+    /**
+     * Outcome for one application
+     */
+    public static class Item {
+        private final String applicationId;
+        private String outcome;
+        private String previousStatus;
+        private String jobSeekerId;
+
+        public Item(String applicationId, String outcome) {
+            this.applicationId = applicationId;
+            this.outcome = outcome;
+        }
+
+        public Item(String applicationId, String outcome, String previousStatus, String jobSeekerId) {
+            this(applicationId, outcome);
+            this.previousStatus = previousStatus;
+            this.jobSeekerId = jobSeekerId;
+        }
+
+        public void setOutcome(String outcome) { this.outcome = outcome; }
+
+        // Getters
+        public String getApplicationId() { return applicationId; }
+        public String getOutcome() { return outcome; }
+        public String getPreviousStatus() { return previousStatus; }
+        public String getJobSeekerId() { return jobSeekerId; }
+    }
+}
@@ -0,0 +1,65 @@
+package com.jobportal.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Candidate Summary DTO
+ * Directory view of a job seeker, read from the users collection with a field projection
+ * (no password, address or long bio). The full profile is returned by GET /api/users/{userId}.
+ */
+public class CandidateSummary {
+
+    /**
+     * Fields read from the users collection for a directory entry
+     */
+    public static final String[] FIELDS = { "firstName", "lastName", "email", "city", "state", "country",
+            "profilePicture", "resume", "skills", "experience", "education", "createdAt" };
+
+    /**
+     * CSV column names, in the order of csvValues()
+     */
+    public static final String[] CSV_HEADER = { "id", "firstName", "lastName", "email", "city", "state",
+            "country", "experience", "education", "skills", "resume", "createdAt" };
+
+    private String id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String city;
+    private String state;
+    private String country;
+    private String profilePicture;
+    private String resume;
+    private List<String> skills;
+    private String experience;
+    private String education;
+    private LocalDateTime createdAt;
+
+    // Default constructor
+    public CandidateSummary() {}
+
+    /**
+     * CSV cell values, in the order of CSV_HEADER (skills joined with ';')
+     * @return Object[] - Cell values
+     */
+    public Object[] csvValues() {
+        return new Object[] { id, firstName, lastName, email, city, state, country, experience, education,
+                skills == null ? null : String.join(";", skills), resume, createdAt };
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public String getEmail() { return email; }
+    public String getCity() { return city; }
+    public String getState() { return state; }
+    public String getCountry() { return country; }
+    public String getProfilePicture() { return profilePicture; }
+    public String getResume() { return resume; }
+    public List<String> getSkills() { return skills; }
+    public String getExperience() { return experience; }
+    public String getEducation() { return education; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
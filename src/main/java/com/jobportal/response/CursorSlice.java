@@ -0,0 +1,45 @@
+package com.jobportal.response;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Cursor Slice DTO
+ * A Slice fetched with keyset pagination. It has no total count - clients pass
+ * nextCursor back to get the following slice until hasNext is false.
+ */
+public class CursorSlice<T> extends SliceImpl<T> {
+
+    private final String nextCursor;
+
+    public CursorSlice(List<T> content, int size, boolean hasNext, String nextCursor) {
+        super(content, PageRequest.of(0, size), hasNext);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a slice from rows fetched with limit(KeysetCursor.fetchLimit(size))
+     * The extra row only tells whether another slice exists and is not returned
+     * @param rows Rows read from the database
+     * @param size Requested slice size (already checked by fetchLimit)
+     * @param cursorOf Builds the continuation token for a row
+     * @return CursorSlice
+     */
+    public static <T> CursorSlice<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorSlice<>(content, size, hasNext, nextCursor);
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext();
+    }
+}
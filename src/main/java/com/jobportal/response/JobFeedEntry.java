@@ -0,0 +1,86 @@
+package com.jobportal.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Job Feed Entry DTO
+ * One job in the aggregator feed, read from the jobs collection with a field projection (no employer
+ * reference, counters or search fields). A tombstone (deleted = true) carries only the ID and the time
+ * the job was deleted or stopped being ACTIVE.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL) // Keeps tombstone lines short
+public class JobFeedEntry {
+
+    /**
+     * Fields read from the jobs collection for a feed entry
+     */
+    public static final String[] FIELDS = { "title", "description", "companyName", "location", "jobType",
+            "experienceLevel", "salaryMin", "salaryMax", "salaryCurrency", "requiredSkills", "responsibilities",
+            "requirements", "benefits", "applicationDeadline", "tags", "category", "status", "createdAt",
+            "updatedAt" };
+
+    private String id;
+    private String title;
+    private String description;
+    private String companyName;
+    private String location;
+    private String jobType;
+    private String experienceLevel;
+    private Double salaryMin;
+    private Double salaryMax;
+    private String salaryCurrency;
+    private List<String> requiredSkills;
+    private List<String> responsibilities;
+    private List<String> requirements;
+    private List<String> benefits;
+    private String applicationDeadline;
+    private List<String> tags;
+    private String category;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean deleted;
+
+    // Default constructor
+    public JobFeedEntry() {}
+
+    /**
+     * Entry telling the aggregator to drop a job
+     * @param id Job ID
+     * @param at When the job was deleted or stopped being ACTIVE
+     * @return JobFeedEntry - Tombstone
+     */
+    public static JobFeedEntry tombstone(String id, LocalDateTime at) {
+        JobFeedEntry entry = new JobFeedEntry();
+        entry.id = id;
+        entry.updatedAt = at;
+        entry.deleted = true;
+        return entry;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public String getDescription() { return description; }
+    public String getCompanyName() { return companyName; }
+    public String getLocation() { return location; }
+    public String getJobType() { return jobType; }
+    public String getExperienceLevel() { return experienceLevel; }
+    public Double getSalaryMin() { return salaryMin; }
+    public Double getSalaryMax() { return salaryMax; }
+    public String getSalaryCurrency() { return salaryCurrency; }
+    public List<String> getRequiredSkills() { return requiredSkills; }
+    public List<String> getResponsibilities() { return responsibilities; }
+    public List<String> getRequirements() { return requirements; }
+    public List<String> getBenefits() { return benefits; }
+    public String getApplicationDeadline() { return applicationDeadline; }
+    public List<String> getTags() { return tags; }
+    public String getCategory() { return category; }
+    public String getStatus() { return status; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Boolean getDeleted() { return deleted; }
+}
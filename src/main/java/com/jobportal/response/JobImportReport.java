@@ -0,0 +1,70 @@
+package com.jobportal.response;
+
+import java.util.List;
+
+/**
+ * Job Import Report DTO
+ * Running totals of a bulk job import; the per-record results are streamed as Line objects while the
+ * import runs and the report itself is written last
+ */
+public class JobImportReport {
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String INVALID = "INVALID";
+    public static final String FAILED = "FAILED";
+
+    private long created;
+    private long updated;
+    private long invalid;
+    private long failed;
+
+    public void count(Line line) {
+        switch (line.getOutcome()) {
+            case CREATED -> created++;
+            case UPDATED -> updated++;
+            case INVALID -> invalid++;
+            default -> failed++;
+        }
+    }
+
+    // Getters
+    public long getTotal() { return created + updated + invalid + failed; }
+    public long getCreated() { return created; }
+    public long getUpdated() { return updated; }
+    public long getInvalid() { return invalid; }
+    public long getFailed() { return failed; }
+
+    /**
+     * Result for one imported record
+     */
+    public static class Line {
+        private final long line;
+        private final String externalRef;
+        private String outcome;
+        private String jobId;
+        private List<String> errors;
+
+        public Line(long line, String externalRef) {
+            this.line = line;
+            this.externalRef = externalRef;
+        }
+
+        public void succeeded(String outcome, String jobId) {
+            this.outcome = outcome;
+            this.jobId = jobId;
+        }
+
+        public void rejected(String outcome, List<String> errors) {
+            this.outcome = outcome;
+            this.errors = errors;
+        }
+
+        // Getters
+        public long getLine() { return line; }
+        public String getExternalRef() { return externalRef; }
+        public String getOutcome() { return outcome; }
+        public String getJobId() { return jobId; }
+        public List<String> getErrors() { return errors; }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jobportal.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Job Summary DTO
+ * Slim view of a job used by the list endpoints. It is read straight from the jobs collection
+ * with a field projection, so long text fields and the employer reference are never loaded.
+ * The full Job is only returned by the job detail endpoint.
+ */
+public class JobSummary {
+
+    /**
+     * Fields read from the jobs collection for a summary
+     */
+    public static final String[] FIELDS = { "title", "companyName", "location", "jobType", "experienceLevel",
+            "salaryMin", "salaryMax", "salaryCurrency", "requiredSkills", "applicationDeadline", "status",
+            "tags", "category", "createdAt", "updatedAt", "totalApplications", "viewCount" };
+
+    private String id;
+    private String title;
+    private String companyName;
+    private String location;
+    private String jobType;
+    private String experienceLevel;
+    private Double salaryMin;
+    private Double salaryMax;
+    private String salaryCurrency;
+    private List<String> requiredSkills;
+    private String applicationDeadline;
+    private String status;
+    private List<String> tags;
+    private String category;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Integer totalApplications;
+    private Integer viewCount;
+
+    // Default constructor
+    public JobSummary() {}
+
+    // Getters
+    public String getId() { return id; }
+    public String getTitle() { return title; }
+    public String getCompanyName() { return companyName; }
+    public String getLocation() { return location; }
+    public String getJobType() { return jobType; }
+    public String getExperienceLevel() { return experienceLevel; }
+    public Double getSalaryMin() { return salaryMin; }
+    public Double getSalaryMax() { return salaryMax; }
+    public String getSalaryCurrency() { return salaryCurrency; }
+    public List<String> getRequiredSkills() { return requiredSkills; }
+    public String getApplicationDeadline() { return applicationDeadline; }
+    public String getStatus() { return status; }
+    public List<String> getTags() { return tags; }
+    public String getCategory() { return category; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public Integer getTotalApplications() { return totalApplications; }
+    public Integer getViewCount() { return viewCount; }
+
+    // Same formatting as Job.getSalaryRange()
+    public String getSalaryRange() {
+        if (salaryMin != null && salaryMax != null) {
+            return salaryCurrency + " " + salaryMin + " - " + salaryMax;
+        } else if (salaryMin != null) {
+            return salaryCurrency + " " + salaryMin + "+";
+        } else if (salaryMax != null) {
+            return "Up to " + salaryCurrency + " " + salaryMax;
+        }
+        return "Salary not specified";
+    }
+}
@@ -1,6 +1,8 @@
 package com.jobportal.service;
 
+import com.jobportal.config.MongoSchemaInitializer;
 import com.jobportal.exception.ApplicationNotFoundException;
+import com.jobportal.exception.ConcurrentUpdateException;
 import com.jobportal.exception.DuplicateApplicationException;
 import com.jobportal.exception.JobNotFoundException;
 import com.jobportal.exception.UnauthorizedAccessException;
@@ -9,15 +11,28 @@ import com.jobportal.model.Job;
 import com.jobportal.model.User;
 import com.jobportal.repository.ApplicationRepository;
 import com.jobportal.repository.JobRepository;
+import com.jobportal.repository.StatusCounters;
 import com.jobportal.request.ApplicationRequest;
+import com.jobportal.request.BulkStatusUpdateRequest;
+import com.jobportal.response.ApplicantRow;
+import com.jobportal.response.BulkStatusUpdateResult;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.util.ExportFormat;
+import com.jobportal.util.ExportWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application Service
@@ -33,7 +48,25 @@ public class ApplicationService {
     private JobRepository jobRepository;
     
     @Autowired
-    private UserService userService;
+    private CurrentUserHolder currentUserHolder;
+    
+    @Autowired
+    private StatusCounters statusCounters;
+    
+    @Autowired
+    private ConflictRetry conflictRetry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MongoSchemaInitializer schemaInitializer;
+    
+    @Value("${jobportal.export.batch-size:500}")
+    private int exportBatchSize;
+    
+    @Value("${jobportal.applications.bulk-max-ids:500}")
+    private int bulkMaxIds;
     
     /**
      * Apply for a job (only job seekers can apply)
@@ -42,7 +75,7 @@ public class ApplicationService {
      */
     public Application applyForJob(ApplicationRequest applicationRequest) {
         // Get current user and verify they are a job seeker
-        User currentUser = userService.getCurrentUser();
+        User currentUser = currentUserHolder.getUser();
         if (!currentUser.isJobSeeker()) {
             throw UnauthorizedAccessException.forAction("apply for jobs");
         }
@@ -51,16 +84,18 @@ public class ApplicationService {
         Job job = jobRepository.findById(applicationRequest.getJobId())
                 .orElseThrow(() -> JobNotFoundException.byId(applicationRequest.getJobId()));
         
-        // Check if user has already applied for this job
-        if (applicationRepository.existsByJobAndJobSeeker(job, currentUser)) {
-            throw DuplicateApplicationException.forJob(job.getTitle());
-        }
-        
         // Check if job is still active
         if (!"ACTIVE".equals(job.getStatus())) {
             throw new IllegalArgumentException("Cannot apply to inactive job");
         }
         
+        // The unique (job, jobSeeker) index is built in the background after startup; until it is confirmed
+        // (or for good if building it failed), look for an earlier application first
+        if (!schemaInitializer.isIndexReady(Application.class, Application.JOB_JOB_SEEKER_UNIQUE)
+                && applicationRepository.existsByJobAndJobSeeker(job, currentUser)) {
+            throw DuplicateApplicationException.forJob(job.getTitle());
+        }
+        
         // Create new application
         Application application = new Application();
         application.setJob(job);
@@ -71,12 +106,17 @@ public class ApplicationService {
         application.setAvailabilityDate(applicationRequest.getAvailabilityDate());
         application.setWillingToRelocate(applicationRequest.getWillingToRelocate());
         
-        // Save application
-        Application savedApplication = applicationRepository.save(application);
+        // Insert application - the unique (job, jobSeeker) index rejects a second application
+        Application savedApplication;
+        try {
+            savedApplication = applicationRepository.insert(application);
+        } catch (DuplicateKeyException e) {
+            throw DuplicateApplicationException.forJob(job.getTitle());
+        }
         
-        // Increment application count in job
-        job.incrementApplicationCount();
-        jobRepository.save(job);
+        // Increment application count in job (atomic $inc, no full document write)
+        jobRepository.incrementTotalApplications(job.getId(), 1);
+        statusCounters.move(StatusCounters.JOB_SEEKER_APPLICATIONS, currentUser.getId(), null, savedApplication.getStatus());
         
         return savedApplication;
     }
@@ -88,13 +128,26 @@ public class ApplicationService {
      * @return Page of applications by current job seeker
      */
     public Page<Application> getMyApplications(int page, int size) {
-        User currentUser = userService.getCurrentUser();
-        if (!currentUser.isJobSeeker()) {
+        if (!currentUserHolder.isJobSeeker()) {
             throw UnauthorizedAccessException.forAction("view job applications");
         }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("appliedAt").descending());
-        return applicationRepository.findByJobSeeker(currentUser, pageable);
+        return applicationRepository.findResolvedByJobSeekerId(currentUserHolder.getUserId(), pageable);
+    }
+    
+    /**
+     * Get my applications with cursor pagination (newest first, no total count)
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of applications by current job seeker
+     */
+    public CursorSlice<Application> scrollMyApplications(String cursor, int size) {
+        if (!currentUserHolder.isJobSeeker()) {
+            throw UnauthorizedAccessException.forAction("view job applications");
+        }
+        
+        return applicationRepository.findResolvedSliceByJobSeekerId(currentUserHolder.getUserId(), cursor, size);
     }
     
     /**
@@ -104,13 +157,26 @@ public class ApplicationService {
      * @return Page of applications for employer's jobs
      */
     public Page<Application> getApplicationsForMyJobs(int page, int size) {
-        User currentUser = userService.getCurrentUser();
-        if (!currentUser.isEmployer()) {
+        if (!currentUserHolder.isEmployer()) {
             throw UnauthorizedAccessException.forAction("view job applications");
         }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("appliedAt").descending());
-        return applicationRepository.findApplicationsForEmployer(currentUser, pageable);
+        return applicationRepository.findResolvedByEmployerId(currentUserHolder.getUserId(), pageable);
+    }
+    
+    /**
+     * Get applications for jobs posted by current employer with cursor pagination
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of applications for employer's jobs
+     */
+    public CursorSlice<Application> scrollApplicationsForMyJobs(String cursor, int size) {
+        if (!currentUserHolder.isEmployer()) {
+            throw UnauthorizedAccessException.forAction("view job applications");
+        }
+        
+        return applicationRepository.findResolvedSliceByEmployerId(currentUserHolder.getUserId(), cursor, size);
     }
     
     /**
@@ -126,13 +192,55 @@ public class ApplicationService {
                 .orElseThrow(() -> JobNotFoundException.byId(jobId));
         
         // Verify current user owns this job
-        User currentUser = userService.getCurrentUser();
-        if (!job.getEmployer().getId().equals(currentUser.getId())) {
+        if (!job.getEmployer().getId().equals(currentUserHolder.getUserId())) {
             throw UnauthorizedAccessException.forAction("view applications for this job");
         }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("appliedAt").descending());
-        return applicationRepository.findByJob(job, pageable);
+        return applicationRepository.findResolvedByJobId(job.getId(), pageable);
+    }
+    
+    /**
+     * Get applications for a specific job with cursor pagination (only job owner can view)
+     * @param jobId Job ID
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of applications for the job
+     */
+    public CursorSlice<Application> scrollApplicationsForJob(String jobId, String cursor, int size) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> JobNotFoundException.byId(jobId));
+        
+        if (!job.getEmployer().getId().equals(currentUserHolder.getUserId())) {
+            throw UnauthorizedAccessException.forAction("view applications for this job");
+        }
+        
+        return applicationRepository.findResolvedSliceByJobId(job.getId(), cursor, size);
+    }
+    
+    /**
+     * Export every applicant of a job (only job owner can export)
+     * Ownership is checked before anything is streamed; the returned body walks a MongoDB cursor and
+     * writes one batch at a time, so memory stays flat however many applicants the job has
+     * @param jobId Job ID
+     * @param format Output format
+     * @return StreamingResponseBody - Writes the export to the response
+     */
+    public StreamingResponseBody exportApplicantsForJob(String jobId, ExportFormat format) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> JobNotFoundException.byId(jobId));
+        
+        if (!job.getEmployer().getId().equals(currentUserHolder.getUserId())) {
+            throw UnauthorizedAccessException.forAction("export applicants for this job");
+        }
+        
+        return out -> {
+            ExportWriter<ApplicantRow> writer = new ExportWriter<>(out, format, objectMapper,
+                    ApplicantRow.CSV_HEADER, ApplicantRow::csvValues);
+            applicationRepository.forEachResolvedBatchByJobId(job.getId(), exportBatchSize,
+                    batch -> writer.writeBatch(batch.stream().map(ApplicantRow::from).toList()));
+            writer.finish();
+        };
     }
     
     /**
@@ -140,31 +248,66 @@ public class ApplicationService {
      * @param applicationId Application ID
      * @param status New status
      * @param employerNotes Optional employer notes
+     * @param expectedVersion Version the client last read (null if it did not send one)
      * @return Updated Application
      */
-    public Application updateApplicationStatus(String applicationId, String status, String employerNotes) {
-        // Find application
-        Application application = applicationRepository.findById(applicationId)
-                .orElseThrow(() -> ApplicationNotFoundException.byId(applicationId));
-        
-        // Verify current user is the employer who posted the job
-        User currentUser = userService.getCurrentUser();
-        if (!application.getJob().getEmployer().getId().equals(currentUser.getId())) {
-            throw UnauthorizedAccessException.forAction("update this application");
-        }
-        
+    public Application updateApplicationStatus(String applicationId, String status, String employerNotes,
+                                               Long expectedVersion) {
         // Validate status
         if (!isValidStatus(status)) {
             throw new IllegalArgumentException("Invalid application status: " + status);
         }
         
-        // Update application
-        application.setStatus(status);
-        if (employerNotes != null) {
-            application.setEmployerNotes(employerNotes);
+        if (expectedVersion != null) {
+            // The client decided on the version it read, so any change since then is a conflict for it to resolve
+            Application application = setApplicationStatus(applicationId, status, employerNotes, expectedVersion);
+            if (application == null) {
+                throw ConcurrentUpdateException.forApplication(applicationId);
+            }
+            return application;
+        }
+        // No client version: a concurrent update makes the attempt start over from a fresh read
+        return conflictRetry.run(() -> setApplicationStatus(applicationId, status, employerNotes, null),
+                () -> ConcurrentUpdateException.forApplication(applicationId));
+    }
+    
+    /**
+     * Update the status of many applications at once (only employers can update)
+     * Ownership is checked with one query and the changes are written with one bulk write;
+     * applications that are missing, not owned or concurrently changed are reported, not failed
+     * @param request Application IDs, new status and optional employer notes
+     * @return BulkStatusUpdateResult - Outcome per application ID
+     */
+    public BulkStatusUpdateResult bulkUpdateApplicationStatus(BulkStatusUpdateRequest request) {
+        if (!currentUserHolder.isEmployer()) {
+            throw UnauthorizedAccessException.forAction("update applications");
         }
+        if (!isValidStatus(request.getStatus())) {
+            throw new IllegalArgumentException("Invalid application status: " + request.getStatus());
+        }
+        List<String> applicationIds = request.getApplicationIds().stream().distinct().toList();
+        if (applicationIds.size() > bulkMaxIds) {
+            throw new IllegalArgumentException("At most " + bulkMaxIds + " applications can be updated at once");
+        }
+        
+        BulkStatusUpdateResult result = applicationRepository.bulkUpdateStatus(currentUserHolder.getUserId(),
+                applicationIds, request.getStatus(), request.getEmployerNotes());
+        
+        // Move the job seekers' status counters for everything that actually changed status
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        for (BulkStatusUpdateResult.Item item : result.getResults()) {
+            if (BulkStatusUpdateResult.UPDATED.equals(item.getOutcome()) && item.getJobSeekerId() != null
+                    && !request.getStatus().equals(item.getPreviousStatus())) {
+                Map<String, Long> counts = deltas.computeIfAbsent(item.getJobSeekerId(), id -> new HashMap<>());
+                if (item.getPreviousStatus() != null) {
+                    counts.merge(item.getPreviousStatus(), -1L, Long::sum);
+                }
+                counts.merge(request.getStatus(), 1L, Long::sum);
+            }
+        }
+        statusCounters.moveAll(StatusCounters.JOB_SEEKER_APPLICATIONS, deltas);
         
-        return applicationRepository.save(application);
+        return result;
     }
     
     /**
@@ -177,9 +320,8 @@ public class ApplicationService {
                 .orElseThrow(() -> ApplicationNotFoundException.byId(applicationId));
         
         // Verify user has access to this application
-        User currentUser = userService.getCurrentUser();
-        boolean isJobSeeker = currentUser.getId().equals(application.getJobSeeker().getId());
-        boolean isEmployer = currentUser.getId().equals(application.getJob().getEmployer().getId());
+        boolean isJobSeeker = currentUserHolder.getUserId().equals(application.getJobSeeker().getId());
+        boolean isEmployer = currentUserHolder.getUserId().equals(application.getJob().getEmployer().getId());
         
         if (!isJobSeeker && !isEmployer) {
             throw UnauthorizedAccessException.forAction("view this application");
@@ -190,43 +332,65 @@ public class ApplicationService {
     
     /**
      * Get application statistics for job seeker
+     * Counts come from one $group aggregation, or from the status counters when enabled
      * @return Application statistics
      */
     public ApplicationStats getApplicationStats() {
-        User currentUser = userService.getCurrentUser();
-        if (!currentUser.isJobSeeker()) {
+        if (!currentUserHolder.isJobSeeker()) {
             throw UnauthorizedAccessException.forAction("view application statistics");
         }
         
-        long totalApplications = applicationRepository.countByJobSeeker(currentUser);
-        long pendingApplications = applicationRepository.countByJobSeekerAndStatus(currentUser, "PENDING");
-        long reviewedApplications = applicationRepository.countByJobSeekerAndStatus(currentUser, "REVIEWED");
-        long shortlistedApplications = applicationRepository.countByJobSeekerAndStatus(currentUser, "SHORTLISTED");
-        long rejectedApplications = applicationRepository.countByJobSeekerAndStatus(currentUser, "REJECTED");
-        long hiredApplications = applicationRepository.countByJobSeekerAndStatus(currentUser, "HIRED");
+        String jobSeekerId = currentUserHolder.getUserId();
+        Map<String, Long> counts = statusCounters.get(StatusCounters.JOB_SEEKER_APPLICATIONS, jobSeekerId,
+                () -> applicationRepository.countByJobSeekerIdGroupedByStatus(jobSeekerId));
         
-        return new ApplicationStats(totalApplications, pendingApplications, reviewedApplications, 
-                shortlistedApplications, rejectedApplications, hiredApplications);
+        long totalApplications = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new ApplicationStats(totalApplications, counts.getOrDefault("PENDING", 0L),
+                counts.getOrDefault("REVIEWED", 0L), counts.getOrDefault("SHORTLISTED", 0L),
+                counts.getOrDefault("REJECTED", 0L), counts.getOrDefault("HIRED", 0L));
     }
     
     /**
      * Get applications by status for current user
+     * Filtered and paged in MongoDB on the (user, status, appliedAt) indexes
      * @param status Application status
-     * @return List of applications with specified status
+     * @param page Page number
+     * @param size Page size
+     * @return Page of applications with specified status
      */
-    public List<Application> getApplicationsByStatus(String status) {
-        User currentUser = userService.getCurrentUser();
+    public Page<Application> getApplicationsByStatus(String status, int page, int size) {
+        if (!isValidStatus(status)) {
+            throw new IllegalArgumentException("Invalid application status: " + status);
+        }
         
-        if (currentUser.isJobSeeker()) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("appliedAt").descending());
+        if (currentUserHolder.isJobSeeker()) {
             // Job seeker viewing their applications by status
-            return applicationRepository.findByJobSeeker(currentUser).stream()
-                    .filter(app -> status.equals(app.getStatus()))
-                    .toList();
-        } else if (currentUser.isEmployer()) {
+            return applicationRepository.findResolvedByJobSeekerIdAndStatus(currentUserHolder.getUserId(), status, pageable);
+        } else if (currentUserHolder.isEmployer()) {
             // Employer viewing applications for their jobs by status
-            return applicationRepository.findApplicationsForEmployer(currentUser).stream()
-                    .filter(app -> status.equals(app.getStatus()))
-                    .toList();
+            return applicationRepository.findResolvedByEmployerIdAndStatus(currentUserHolder.getUserId(), status, pageable);
+        }
+        
+        throw UnauthorizedAccessException.forAction("view applications");
+    }
+    
+    /**
+     * Get applications by status for current user with cursor pagination (newest first, no total count)
+     * @param status Application status
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of applications with specified status
+     */
+    public CursorSlice<Application> scrollApplicationsByStatus(String status, String cursor, int size) {
+        if (!isValidStatus(status)) {
+            throw new IllegalArgumentException("Invalid application status: " + status);
+        }
+        
+        if (currentUserHolder.isJobSeeker()) {
+            return applicationRepository.findResolvedSliceByJobSeekerIdAndStatus(currentUserHolder.getUserId(), status, cursor, size);
+        } else if (currentUserHolder.isEmployer()) {
+            return applicationRepository.findResolvedSliceByEmployerIdAndStatus(currentUserHolder.getUserId(), status, cursor, size);
         }
         
         throw UnauthorizedAccessException.forAction("view applications");
@@ -241,8 +405,7 @@ public class ApplicationService {
                 .orElseThrow(() -> ApplicationNotFoundException.byId(applicationId));
         
         // Verify current user owns this application
-        User currentUser = userService.getCurrentUser();
-        if (!application.getJobSeeker().getId().equals(currentUser.getId())) {
+        if (!application.getJobSeeker().getId().equals(currentUserHolder.getUserId())) {
             throw UnauthorizedAccessException.forAction("withdraw this application");
         }
         
@@ -254,12 +417,9 @@ public class ApplicationService {
         // Delete application
         applicationRepository.delete(application);
         
-        // Decrement application count in job
-        Job job = application.getJob();
-        if (job.getTotalApplications() > 0) {
-            job.setTotalApplications(job.getTotalApplications() - 1);
-            jobRepository.save(job);
-        }
+        // Decrement application count in job (atomic $inc, never below zero)
+        jobRepository.incrementTotalApplications(application.getJob().getId(), -1);
+        statusCounters.move(StatusCounters.JOB_SEEKER_APPLICATIONS, currentUserHolder.getUserId(), application.getStatus(), null);
     }
     
     // Helper methods
@@ -277,6 +437,51 @@ public class ApplicationService {
                "HIRED".equals(status);
     }
     
+    /**
+     * One compare-and-set attempt at a status change, against the version read here
+     * @return Application - The updated application, or null if its version is not expectedVersion (when given)
+     *         or changed meanwhile
+     */
+    private Application setApplicationStatus(String applicationId, String status, String employerNotes,
+                                             Long expectedVersion) {
+        Application application = applicationRepository.findById(applicationId)
+                .orElseThrow(() -> ApplicationNotFoundException.byId(applicationId));
+        
+        // Verify current user is the employer who posted the job
+        if (!application.getJob().getEmployer().getId().equals(currentUserHolder.getUserId())) {
+            throw UnauthorizedAccessException.forAction("update this application");
+        }
+        
+        String previousStatus = application.getStatus();
+        Long version = application.getVersion();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            return null;
+        }
+        
+        // Update application
+        application.setStatus(status);
+        if (employerNotes != null) {
+            application.setEmployerNotes(employerNotes);
+        }
+        
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("status", status);
+        fields.put("updatedAt", application.getUpdatedAt());
+        if (application.getReviewedAt() != null) {
+            fields.put("reviewedAt", application.getReviewedAt());
+        }
+        if (employerNotes != null) {
+            fields.put("employerNotes", employerNotes);
+        }
+        if (!applicationRepository.updateIfVersion(applicationId, version, fields)) {
+            return null;
+        }
+        application.setVersion(version == null ? 1 : version + 1);
+        statusCounters.move(StatusCounters.JOB_SEEKER_APPLICATIONS, application.getJobSeeker().getId(),
+                previousStatus, status);
+        return application;
+    }
+    
     /**
      * Inner class for application statistics
      */
@@ -306,10 +511,4 @@ public class ApplicationService {
         public long getRejectedApplications() { return rejectedApplications; }
         public long getHiredApplications() { return hiredApplications; }
     }
-    
-    public List<Application> getApplicationsByJobId(String jobId) {
-        return applicationRepository.findByJob_Id(jobId);
-    }
-
-    
 }
\ No newline at end of file
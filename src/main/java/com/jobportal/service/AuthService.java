@@ -1,6 +1,7 @@
 package com.jobportal.service;
 
 import com.jobportal.config.JwtProvider;
+import com.jobportal.config.JwtUserPrincipal;
 import com.jobportal.exception.UserAlreadyExistsException;
 import com.jobportal.exception.UserNotFoundException;
 import com.jobportal.model.User;
@@ -15,7 +16,6 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -32,15 +32,18 @@ public class AuthService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     
-    @Autowired
-    private CustomUserDetailsService customUserDetailsService;
-    
     @Autowired
     private JwtProvider jwtProvider;
     
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private CurrentUserHolder currentUserHolder;
+    
+    @Autowired
+    private UserCache userCache;
+    
     /**
      * User Signup/Registration
      * @param signupRequest Registration details
@@ -74,6 +77,7 @@ public class AuthService {
         
         // Save user to database
         User savedUser = userRepository.save(user);
+        userCache.evict(savedUser);
         
         // Create authentication token
         Authentication authentication = new UsernamePasswordAuthenticationToken(
@@ -82,7 +86,7 @@ public class AuthService {
         );
         
         // Generate JWT token
-        String jwt = jwtProvider.generateTokenFromEmail(savedUser.getEmail());
+        String jwt = jwtProvider.generateToken(savedUser);
         
         // Convert to response DTO
         UserResponse userResponse = userMapper.toUserResponse(savedUser);
@@ -98,30 +102,28 @@ public class AuthService {
     public AuthResponse login(LoginRequest loginRequest) {
         String email = loginRequest.getEmail().toLowerCase();
         
-        // Load user details
-        UserDetails userDetails = customUserDetailsService.loadUserByUsername(email);
+        // Load the user once - it is needed for the password check, the token claims and the response
+        User user = userCache.findByEmail(email)
+                .orElseThrow(() -> new BadCredentialsException("Invalid email or password"));
         
         // Check password
-        if (!passwordEncoder.matches(loginRequest.getPassword(), userDetails.getPassword())) {
+        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
             throw new BadCredentialsException("Invalid email or password");
         }
         
         // Create authentication
+        JwtUserPrincipal principal = new JwtUserPrincipal(user.getId(), user.getEmail(), user.getRole());
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-                userDetails, 
+                principal, 
                 null, 
-                userDetails.getAuthorities()
+                principal.getAuthorities()
         );
         
         // Set authentication in security context
         SecurityContextHolder.getContext().setAuthentication(authentication);
         
         // Generate JWT token
-        String jwt = jwtProvider.generateToken(authentication);
-        
-        // Get user details
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> UserNotFoundException.byEmail(email));
+        String jwt = jwtProvider.generateToken(user);
         
         // Convert to response DTO
         UserResponse userResponse = userMapper.toUserResponse(user);
@@ -134,17 +136,7 @@ public class AuthService {
      * @return UserResponse of current user
      */
     public UserResponse getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("User not authenticated");
-        }
-        
-        String email = authentication.getName();
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> UserNotFoundException.byEmail(email));
-        
-        return userMapper.toUserResponse(user);
+        return userMapper.toUserResponse(currentUserHolder.getUser());
     }
     
     /**
@@ -153,7 +145,7 @@ public class AuthService {
      * @return User entity
      */
     public User getUserByEmail(String email) {
-        return userRepository.findByEmail(email)
+        return userCache.findByEmail(email)
                 .orElseThrow(() -> UserNotFoundException.byEmail(email));
     }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.jobportal.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Conflict Retry
+ * Runs an optimistic read-check-write attempt again when its compare-and-set lost to a concurrent
+ * writer, up to jobportal.concurrency.max-attempts times. Each attempt re-reads the document, so
+ * permission checks and status transitions are evaluated against the latest version.
+ */
+@Component
+public class ConflictRetry {
+
+    @Value("${jobportal.concurrency.max-attempts:3}")
+    private int maxAttempts;
+
+    /**
+     * Run an attempt until it succeeds or the attempts are used up
+     * @param attempt Reads, checks and writes; returns null when the version check failed
+     * @param exhausted Exception thrown when every attempt conflicted
+     * @return T - Result of the successful attempt
+     */
+    public <T> T run(Supplier<T> attempt, Supplier<? extends RuntimeException> exhausted) {
+        for (int i = 0; i < maxAttempts; i++) {
+            T result = attempt.get();
+            if (result != null) {
+                return result;
+            }
+        }
+        throw exhausted.get();
+    }
+}
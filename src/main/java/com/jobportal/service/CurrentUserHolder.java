@@ -0,0 +1,156 @@
+package com.jobportal.service;
+
+import com.jobportal.config.JwtUserPrincipal;
+import com.jobportal.exception.UserNotFoundException;
+import com.jobportal.model.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Current User Holder
+ * Resolves the authenticated user at most once per request.
+ * The id and role come straight from the JWT principal; the full User is loaded (through the
+ * UserCache, by the token's userId claim when it has one) only when a caller needs it and is then kept as a
+ * request attribute for the rest of the request.
+ * The jobportal.current_user.lookups metric counts loads (result=loaded) and, once per request, requests
+ * where a lookup was answered without a load, from the token's claims or the user kept for the request
+ * (result=saved).
+ */
+@Component
+public class CurrentUserHolder {
+
+    private static final String USER_ATTRIBUTE = CurrentUserHolder.class.getName() + ".user";
+    private static final String SAVED_ATTRIBUTE = CurrentUserHolder.class.getName() + ".saved";
+
+    @Autowired
+    private UserCache userCache;
+
+    private final Counter lookupsLoaded;
+    private final Counter lookupsSaved;
+
+    public CurrentUserHolder(MeterRegistry meterRegistry) {
+        this.lookupsLoaded = Counter.builder("jobportal.current_user.lookups")
+                .description("Current user resolutions by outcome")
+                .tag("result", "loaded")
+                .register(meterRegistry);
+        this.lookupsSaved = Counter.builder("jobportal.current_user.lookups")
+                .description("Current user resolutions by outcome")
+                .tag("result", "saved")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Get the current user's ID (no query when the token carries it)
+     * @return Current user's ID
+     */
+    public String getUserId() {
+        JwtUserPrincipal principal = getPrincipal();
+        if (principal != null && principal.getUserId() != null) {
+            recordSaved();
+            return principal.getUserId();
+        }
+        return getUser().getId();
+    }
+
+    /**
+     * Get the current user's role (no query when the token carries it)
+     * @return Current user's role
+     */
+    public String getRole() {
+        JwtUserPrincipal principal = getPrincipal();
+        if (principal != null && principal.getRole() != null) {
+            recordSaved();
+            return principal.getRole();
+        }
+        return getUser().getRole();
+    }
+
+    public boolean isEmployer() {
+        return "EMPLOYER".equals(getRole());
+    }
+
+    public boolean isJobSeeker() {
+        return "JOB_SEEKER".equals(getRole());
+    }
+
+    /**
+     * Get the current user entity, loading it on the first call in a request
+     * @return Current User entity
+     */
+    public User getUser() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            User cached = (User) attributes.getAttribute(USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (cached != null) {
+                recordSaved();
+                return cached;
+            }
+        }
+
+        JwtUserPrincipal principal = getPrincipal();
+        User user;
+        if (principal != null && principal.getUserId() != null) {
+            String userId = principal.getUserId();
+            user = userCache.findById(userId).orElseThrow(() -> UserNotFoundException.byId(userId));
+        } else {
+            String email = getEmail();
+            user = userCache.findByEmail(email).orElseThrow(() -> UserNotFoundException.byEmail(email));
+        }
+        lookupsLoaded.increment();
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * Replace the user kept for this request after it was updated
+     * @param user Saved User entity
+     */
+    public void refresh(User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Get current authenticated user's email
+     * @return Current user's email
+     */
+    public String getEmail() {
+        return getAuthentication().getName();
+    }
+
+    // Helper methods
+
+    private Authentication getAuthentication() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("User not authenticated");
+        }
+        return authentication;
+    }
+
+    /**
+     * Count a lookup answered without a load, at most once per request
+     */
+    private void recordSaved() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null && attributes.getAttribute(SAVED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            attributes.setAttribute(SAVED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            lookupsSaved.increment();
+        }
+    }
+
+    private JwtUserPrincipal getPrincipal() {
+        Object principal = getAuthentication().getPrincipal();
+        return principal instanceof JwtUserPrincipal jwtUser ? jwtUser : null;
+    }
+}
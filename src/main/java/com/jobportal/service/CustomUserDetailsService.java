@@ -1,7 +1,6 @@
 package com.jobportal.service;
 
 import com.jobportal.model.User;
-import com.jobportal.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -21,7 +20,7 @@ import java.util.List;
 public class CustomUserDetailsService implements UserDetailsService {
     
     @Autowired
-    private UserRepository userRepository;
+    private UserCache userCache;
     
     /**
      * Load user by username (email in our case)
@@ -30,7 +29,7 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         // Find user by email
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
         // Create authorities (roles) for the user
@@ -0,0 +1,60 @@
+package com.jobportal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobportal.model.Job;
+import com.jobportal.repository.JobRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Job Detail Cache
+ * Read-through cache for the job detail endpoint. Concurrent misses for the same job are
+ * coalesced: the first caller loads it and the others wait for that single findById.
+ * Entries are dropped when a job is edited, changes status or is deleted, and otherwise
+ * expire after jobportal.jobs.detail-cache.ttl (so counters such as totalApplications
+ * are at most that stale). Stats are published as cache.* metrics with cache=jobs.detail.
+ * Cached jobs are shared - callers that modify a job must load it from the repository.
+ */
+@Component
+public class JobDetailCache {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private final Cache<String, Job> jobsById;
+
+    public JobDetailCache(MeterRegistry meterRegistry,
+                          @Value("${jobportal.jobs.detail-cache.max-size:10000}") long maxSize,
+                          @Value("${jobportal.jobs.detail-cache.ttl:60s}") Duration ttl) {
+        this.jobsById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, jobsById, "jobs.detail");
+    }
+
+    /**
+     * Find job by ID, loading it once on a miss however many callers are waiting
+     * @param jobId Job ID
+     * @return Optional<Job> - Job if found, empty if not found (not found is not cached)
+     */
+    public Optional<Job> findById(String jobId) {
+        return Optional.ofNullable(jobsById.get(jobId, id -> jobRepository.findById(id).orElse(null)));
+    }
+
+    /**
+     * Drop a job after it was written
+     * @param jobId Job ID
+     */
+    public void evict(String jobId) {
+        jobsById.invalidate(jobId);
+    }
+}
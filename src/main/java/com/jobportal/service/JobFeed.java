@@ -0,0 +1,178 @@
+package com.jobportal.service;
+
+import com.jobportal.repository.JobRepository;
+import com.jobportal.response.JobSummary;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job Feed
+ * Materialized home page feed: the top N recent and popular active jobs, kept in memory.
+ * Rebuilt on a schedule (jobportal.feed.refresh-interval-ms) and, in the background, after
+ * every job write, so landing page requests never run a sort query.
+ * With jobportal.feed.trending.enabled the popular list is ranked by a time-decayed score,
+ * viewCount / (ageHours + 2)^gravity, over the most viewed and most recent candidates
+ * instead of by raw viewCount.
+ */
+@Component
+public class JobFeed {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private ResponseByteCache responseByteCache;
+
+    @Value("${jobportal.feed.size:50}")
+    private int size;
+
+    @Value("${jobportal.feed.trending.enabled:false}")
+    private boolean trendingEnabled;
+
+    @Value("${jobportal.feed.trending.gravity:1.5}")
+    private double gravity;
+
+    @Value("${jobportal.feed.trending.candidates:500}")
+    private int candidates;
+
+    // null until the first build completes
+    private volatile Snapshot snapshot;
+
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private final ExecutorService rebuilder = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "job-feed-rebuilder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Build the feed in the background once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        requestRebuild();
+    }
+
+    /**
+     * Rebuild the feed on a fixed interval so view counts and ages are picked up
+     */
+    @Scheduled(fixedDelayString = "${jobportal.feed.refresh-interval-ms:60000}",
+               initialDelayString = "${jobportal.feed.refresh-interval-ms:60000}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Ask for a rebuild after a write; requests made while one is queued are merged into it
+     */
+    public void requestRebuild() {
+        if (rebuildPending.compareAndSet(false, true)) {
+            rebuilder.execute(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            });
+        }
+    }
+
+    /**
+     * Get the most recent active jobs from the feed
+     * @param limit Number of jobs to return
+     * @return List of recent jobs, or null if the feed is not built yet or shorter than limit allows
+     */
+    public List<JobSummary> getRecent(int limit) {
+        Snapshot current = snapshot;
+        return current == null || limit > size ? null : head(current.recent, limit);
+    }
+
+    /**
+     * Get the most popular (or trending) active jobs from the feed
+     * @param limit Number of jobs to return
+     * @return List of popular jobs, or null if the feed is not built yet or shorter than limit allows
+     */
+    public List<JobSummary> getPopular(int limit) {
+        Snapshot current = snapshot;
+        return current == null || limit > size ? null : head(current.popular, limit);
+    }
+
+    /**
+     * Reload both lists from MongoDB and swap them in
+     */
+    public synchronized void rebuild() {
+        try {
+            List<JobSummary> recent = jobRepository.findTopSummariesByStatus("ACTIVE",
+                    Sort.by(Sort.Direction.DESC, "createdAt"), size);
+            List<JobSummary> popular = trendingEnabled
+                    ? findTrending()
+                    : jobRepository.findTopSummariesByStatus("ACTIVE", Sort.by(Sort.Direction.DESC, "viewCount"), size);
+
+            snapshot = new Snapshot(List.copyOf(recent), List.copyOf(popular));
+            responseByteCache.invalidateLists();
+        } catch (Exception e) {
+            System.err.println("Job feed rebuild failed: " + e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+
+    // Helper methods
+
+    private List<JobSummary> findTrending() {
+        // Candidates: the most viewed and the newest active jobs
+        Map<String, JobSummary> pool = new LinkedHashMap<>();
+        for (JobSummary job : jobRepository.findTopSummariesByStatus("ACTIVE",
+                Sort.by(Sort.Direction.DESC, "viewCount"), candidates)) {
+            pool.put(job.getId(), job);
+        }
+        for (JobSummary job : jobRepository.findTopSummariesByStatus("ACTIVE",
+                Sort.by(Sort.Direction.DESC, "createdAt"), candidates)) {
+            pool.putIfAbsent(job.getId(), job);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return pool.values().stream()
+                .sorted(Comparator.comparingDouble((JobSummary job) -> trendingScore(job, now)).reversed())
+                .limit(size)
+                .toList();
+    }
+
+    private double trendingScore(JobSummary job, LocalDateTime now) {
+        double views = job.getViewCount() == null ? 0 : job.getViewCount();
+        double ageHours = job.getCreatedAt() == null ? 0
+                : Math.max(0, Duration.between(job.getCreatedAt(), now).toMinutes() / 60.0);
+        return views / Math.pow(ageHours + 2, gravity);
+    }
+
+    private List<JobSummary> head(List<JobSummary> jobs, int limit) {
+        return jobs.subList(0, Math.min(Math.max(limit, 0), jobs.size()));
+    }
+
+    private static final class Snapshot {
+        private final List<JobSummary> recent;
+        private final List<JobSummary> popular;
+
+        private Snapshot(List<JobSummary> recent, List<JobSummary> popular) {
+            this.recent = recent;
+            this.popular = popular;
+        }
+    }
+}
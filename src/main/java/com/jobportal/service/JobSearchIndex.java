@@ -0,0 +1,457 @@
+package com.jobportal.service;
+
+import com.jobportal.model.Job;
+import com.jobportal.repository.JobRepository;
+import com.jobportal.response.JobSummary;
+import com.jobportal.util.SearchTokenizer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Job Search Index
+ * In-memory inverted index over active jobs with BM25 relevance ranking.
+ * Built at startup from JobRepository and kept in sync by JobService on every write; jobs written
+ * while the startup build runs keep their live version over the build's cursor copy.
+ * Jobs match exactly as in the MongoDB fallback (JobRepositoryCustom#searchActiveJobs): every keyword
+ * and location token must prefix-match a title / location token. BM25 over title, description,
+ * skills, tags and category only decides the order. Document frequencies count live postings only.
+ * Posting lists are primitive int arrays (doc ids + weighted term frequencies).
+ */
+@Component
+public class JobSearchIndex {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Field weights - a title hit counts more than a description hit
+    private static final int TITLE_WEIGHT = 3;
+    private static final int SKILL_WEIGHT = 2;
+    private static final int TAG_WEIGHT = 2;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Compact the posting lists once this share of doc ids is stale
+    private static final double COMPACTION_THRESHOLD = 0.25;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Value("${jobportal.search.index.enabled:true}")
+    private boolean enabled;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> postings (sorted, so a keyword prefix is a range of terms)
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+    // jobId -> current doc id (doc ids are never reused until compaction)
+    private final Map<String, Integer> docIdsByJobId = new HashMap<>();
+
+    // Per-document data, indexed by doc id
+    private String[] jobIds = new String[1024];
+    private int[] docLengths = new int[1024];
+    private long[] createdAt = new long[1024];
+    private String[][] titleTokens = new String[1024][];
+    private String[][] locationTokens = new String[1024][];
+    private String[] jobTypes = new String[1024];
+    private final BitSet deleted = new BitSet();
+
+    private int nextDocId = 0;
+    private int liveDocs = 0;
+    private long totalLength = 0;
+
+    private volatile boolean ready = false;
+
+    // Jobs written through index()/remove() while a rebuild runs; the rebuild's cursor copies of these
+    // may be older than the live write, so they are skipped (null when no rebuild is running)
+    private Set<String> writtenDuringRebuild;
+
+    /**
+     * Build the index in the background once the application is ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (!enabled) {
+            return;
+        }
+
+        Thread worker = new Thread(this::rebuild, "job-search-index-builder");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Load every active job from MongoDB into the index
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            writtenDuringRebuild = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Query query = new Query(Criteria.where("status").is("ACTIVE"));
+        query.fields().include("title", "description", "requiredSkills", "tags", "category",
+                "location", "jobType", "status", "createdAt");
+
+        try (Stream<Job> jobs = mongoTemplate.stream(query, Job.class)) {
+            jobs.forEach(job -> index(job, true));
+            ready = true;
+            System.out.println("Job search index built with " + liveDocs + " active jobs");
+        } catch (Exception e) {
+            System.err.println("Job search index build failed: " + e.getMessage());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                writtenDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Whether the index has finished its initial build and can serve queries
+     * @return true if ready
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Add or replace a job in the index. Jobs that are not ACTIVE are removed.
+     * @param job Saved job
+     */
+    public void index(Job job) {
+        index(job, false);
+    }
+
+    /**
+     * Remove a job from the index
+     * @param jobId Job ID
+     */
+    public void remove(String jobId) {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringRebuild != null) {
+                writtenDuringRebuild.add(jobId);
+            }
+            removeLocked(jobId);
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add or replace a job, from a live write or from the rebuild's cursor
+     * A cursor copy is skipped when a live write for the same job happened during the rebuild
+     */
+    private void index(Job job, boolean fromRebuild) {
+        if (!enabled || job == null || job.getId() == null) {
+            return;
+        }
+        if (!"ACTIVE".equals(job.getStatus())) {
+            remove(job.getId());
+            return;
+        }
+
+        // Tokenize outside the lock
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        addTerms(termFrequencies, job.getTitle(), TITLE_WEIGHT);
+        addTerms(termFrequencies, job.getDescription(), DESCRIPTION_WEIGHT);
+        addTerms(termFrequencies, job.getCategory(), CATEGORY_WEIGHT);
+        if (job.getRequiredSkills() != null) {
+            job.getRequiredSkills().forEach(skill -> addTerms(termFrequencies, skill, SKILL_WEIGHT));
+        }
+        if (job.getTags() != null) {
+            job.getTags().forEach(tag -> addTerms(termFrequencies, tag, TAG_WEIGHT));
+        }
+        int length = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+
+        lock.writeLock().lock();
+        try {
+            if (writtenDuringRebuild != null) {
+                if (fromRebuild && writtenDuringRebuild.contains(job.getId())) {
+                    return; // A live write already indexed (or removed) a newer version
+                }
+                if (!fromRebuild) {
+                    writtenDuringRebuild.add(job.getId());
+                }
+            }
+            removeLocked(job.getId());
+
+            int docId = nextDocId++;
+            ensureDocCapacity(docId + 1);
+            jobIds[docId] = job.getId();
+            docLengths[docId] = length;
+            createdAt[docId] = job.getCreatedAt() == null ? 0 : job.getCreatedAt().toEpochSecond(ZoneOffset.UTC);
+            titleTokens[docId] = SearchTokenizer.tokenize(job.getTitle()).toArray(new String[0]);
+            locationTokens[docId] = SearchTokenizer.tokenize(job.getLocation()).toArray(new String[0]);
+            jobTypes[docId] = SearchTokenizer.normalize(job.getJobType());
+            docIdsByJobId.put(job.getId(), docId);
+            liveDocs++;
+            totalLength += length;
+
+            termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new PostingList()).add(docId, frequency));
+            compactIfNeededLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Search active jobs ranked by BM25 relevance
+     * @param keywords Free text keywords
+     * @param location Location filter (optional)
+     * @param jobType Job type filter (optional)
+     * @param page Page number (0-based)
+     * @param size Page size
+     * @return Page of matching jobs in relevance order
+     */
+    public Page<JobSummary> search(String keywords, String location, String jobType, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        List<String> queryTerms = SearchTokenizer.tokenize(keywords);
+        List<String> locationPrefixes = SearchTokenizer.tokenize(location);
+        String jobTypePrefix = SearchTokenizer.normalize(jobType);
+
+        List<String> pageJobIds = new ArrayList<>();
+        long total;
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = new HashMap<>();
+            Map<Integer, Boolean> matches = new HashMap<>();
+            double averageLength = liveDocs == 0 ? 1 : (double) totalLength / liveDocs;
+
+            // Every indexed term a keyword is a prefix of adds to the score of the jobs that match
+            for (String prefix : queryTerms) {
+                for (PostingList list : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+                    int documentFrequency = list.liveCount(deleted);
+                    if (documentFrequency == 0) {
+                        continue;
+                    }
+                    double idf = Math.log(1 + (liveDocs - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                    for (int i = 0; i < list.size; i++) {
+                        int docId = list.docIds[i];
+                        if (deleted.get(docId) || !matches.computeIfAbsent(docId,
+                                id -> matchesQuery(id, queryTerms, locationPrefixes, jobTypePrefix))) {
+                            continue;
+                        }
+                        double tf = list.frequencies[i];
+                        double norm = K1 * (1 - B + B * docLengths[docId] / averageLength);
+                        scores.merge(docId, idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+                    }
+                }
+            }
+            total = scores.size();
+
+            // Keep only the top (page + 1) * size hits, newest first on equal score
+            Comparator<Map.Entry<Integer, Double>> ranking = Map.Entry.<Integer, Double>comparingByValue()
+                    .thenComparingLong(entry -> createdAt[entry.getKey()]);
+            int limit = (int) Math.min((long) (page + 1) * size, Integer.MAX_VALUE);
+            PriorityQueue<Map.Entry<Integer, Double>> top = new PriorityQueue<>(ranking);
+            for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+
+            List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(ranking.reversed());
+            // long arithmetic: a large page number must give an empty page, not overflow
+            long start = (long) page * size;
+            for (int i = (int) Math.min(start, ranked.size()); i < ranked.size(); i++) {
+                pageJobIds.add(jobIds[ranked.get(i).getKey()]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Hydrate only the ids on this page, with a single projected _id lookup
+        List<JobSummary> content = jobRepository.findSummariesByIds(pageJobIds);
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    // Helper methods
+
+    private void addTerms(Map<String, Integer> termFrequencies, String text, int weight) {
+        for (String term : SearchTokenizer.terms(text)) {
+            termFrequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Same match as the MongoDB fallback: each keyword prefixes a title token, each location token
+     * prefixes a location token, and the job type starts with the requested one
+     */
+    private boolean matchesQuery(int docId, List<String> keywords, List<String> locationPrefixes, String jobTypePrefix) {
+        if (jobTypePrefix != null && (jobTypes[docId] == null || !jobTypes[docId].startsWith(jobTypePrefix))) {
+            return false;
+        }
+        return prefixesAll(titleTokens[docId], keywords) && prefixesAll(locationTokens[docId], locationPrefixes);
+    }
+
+    private static boolean prefixesAll(String[] tokens, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            boolean found = false;
+            for (String token : tokens) {
+                if (token.startsWith(prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void removeLocked(String jobId) {
+        Integer docId = docIdsByJobId.remove(jobId);
+        if (docId != null) {
+            deleted.set(docId);
+            liveDocs--;
+            totalLength -= docLengths[docId];
+        }
+    }
+
+    private void compactIfNeededLocked() {
+        if (nextDocId > 0 && deleted.cardinality() > nextDocId * COMPACTION_THRESHOLD) {
+            compactLocked();
+        }
+    }
+
+    /**
+     * Drop stale doc ids from every posting list and renumber the live documents
+     */
+    private void compactLocked() {
+        int[] remap = new int[nextDocId];
+        int live = 0;
+        for (int docId = 0; docId < nextDocId; docId++) {
+            if (deleted.get(docId)) {
+                remap[docId] = -1;
+                continue;
+            }
+            remap[docId] = live;
+            jobIds[live] = jobIds[docId];
+            docLengths[live] = docLengths[docId];
+            createdAt[live] = createdAt[docId];
+            titleTokens[live] = titleTokens[docId];
+            locationTokens[live] = locationTokens[docId];
+            jobTypes[live] = jobTypes[docId];
+            docIdsByJobId.put(jobIds[live], live);
+            live++;
+        }
+        Arrays.fill(jobIds, live, nextDocId, null);
+        Arrays.fill(titleTokens, live, nextDocId, null);
+        Arrays.fill(locationTokens, live, nextDocId, null);
+        Arrays.fill(jobTypes, live, nextDocId, null);
+
+        postings.values().removeIf(list -> list.compact(remap) == 0);
+        deleted.clear();
+        nextDocId = live;
+    }
+
+    private void ensureDocCapacity(int capacity) {
+        if (capacity <= jobIds.length) {
+            return;
+        }
+        int newLength = Math.max(capacity, jobIds.length * 2);
+        jobIds = Arrays.copyOf(jobIds, newLength);
+        docLengths = Arrays.copyOf(docLengths, newLength);
+        createdAt = Arrays.copyOf(createdAt, newLength);
+        titleTokens = Arrays.copyOf(titleTokens, newLength);
+        locationTokens = Arrays.copyOf(locationTokens, newLength);
+        jobTypes = Arrays.copyOf(jobTypes, newLength);
+    }
+
+    /**
+     * Posting list for one term: parallel int arrays of doc ids and weighted term frequencies
+     */
+    private static class PostingList {
+        private int[] docIds = new int[4];
+        private int[] frequencies = new int[4];
+        private int size = 0;
+
+        void add(int docId, int frequency) {
+            if (size == docIds.length) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docIds[size] = docId;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * Postings of documents that are still live (stale ones stay in the arrays until compaction)
+         */
+        int liveCount(BitSet deleted) {
+            int live = 0;
+            for (int i = 0; i < size; i++) {
+                if (!deleted.get(docIds[i])) {
+                    live++;
+                }
+            }
+            return live;
+        }
+
+        int compact(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int newDocId = remap[docIds[i]];
+                if (newDocId >= 0) {
+                    docIds[kept] = newDocId;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size > 0 && size < docIds.length / 4) {
+                docIds = Arrays.copyOf(docIds, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            return size;
+        }
+    }
+}
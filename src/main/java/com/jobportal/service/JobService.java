@@ -1,19 +1,47 @@
 package com.jobportal.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobportal.exception.ConcurrentUpdateException;
 import com.jobportal.exception.JobNotFoundException;
 import com.jobportal.exception.UnauthorizedAccessException;
 import com.jobportal.model.Job;
+import com.jobportal.model.JobTombstone;
 import com.jobportal.model.User;
+import com.jobportal.repository.JobCountCache;
 import com.jobportal.repository.JobRepository;
+import com.jobportal.repository.StatusCounters;
 import com.jobportal.request.JobRequest;
+import com.jobportal.response.CursorSlice;
+import com.jobportal.response.JobImportReport;
+import com.jobportal.response.JobSummary;
+import com.jobportal.util.ExportFormat;
+import com.jobportal.util.ExportWriter;
+import com.jobportal.util.FeedToken;
+import com.jobportal.util.ImportReader;
+import com.jobportal.util.JobFeedWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Job Service
@@ -26,7 +54,49 @@ public class JobService {
     private JobRepository jobRepository;
     
     @Autowired
-    private UserService userService;
+    private CurrentUserHolder currentUserHolder;
+    
+    @Autowired
+    private JobSearchIndex jobSearchIndex;
+    
+    @Autowired
+    private JobViewCounter jobViewCounter;
+    
+    @Autowired
+    private JobCountCache jobCountCache;
+    
+    @Autowired
+    private JobDetailCache jobDetailCache;
+    
+    @Autowired
+    private ResponseByteCache responseByteCache;
+    
+    @Autowired
+    private JobFeed jobFeed;
+    
+    @Autowired
+    private StatusCounters statusCounters;
+    
+    @Autowired
+    private ConflictRetry conflictRetry;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Value("${jobportal.import.batch-size:500}")
+    private int importBatchSize;
+    
+    @Value("${jobportal.aggregator-feed.batch-size:500}")
+    private int feedBatchSize;
+    
+    @Value("${jobportal.aggregator-feed.overlap:5s}")
+    private Duration feedOverlap;
+    
+    private static final List<String> IMPORT_LIST_COLUMNS = List.of("requiredSkills", "responsibilities",
+            "requirements", "benefits", "tags");
     
     /**
      * Create a new job posting (only employers can create jobs)
@@ -35,32 +105,73 @@ public class JobService {
      */
     public Job createJob(JobRequest jobRequest) {
         // Get current user and verify they are an employer
-        User currentUser = userService.getCurrentUser();
+        User currentUser = currentUserHolder.getUser();
         if (!currentUser.isEmployer()) {
             throw UnauthorizedAccessException.forAction("create job posting");
         }
         
-        // Create new job
-        Job job = new Job();
-        job.setTitle(jobRequest.getTitle());
-        job.setDescription(jobRequest.getDescription());
-        job.setCompanyName(jobRequest.getCompanyName());
-        job.setLocation(jobRequest.getLocation());
-        job.setJobType(jobRequest.getJobType());
-        job.setExperienceLevel(jobRequest.getExperienceLevel());
-        job.setSalaryMin(jobRequest.getSalaryMin());
-        job.setSalaryMax(jobRequest.getSalaryMax());
-        job.setSalaryCurrency(jobRequest.getSalaryCurrency());
-        job.setRequiredSkills(jobRequest.getRequiredSkills());
-        job.setResponsibilities(jobRequest.getResponsibilities());
-        job.setRequirements(jobRequest.getRequirements());
-        job.setBenefits(jobRequest.getBenefits());
-        job.setApplicationDeadline(jobRequest.getApplicationDeadline());
-        job.setTags(jobRequest.getTags());
-        job.setCategory(jobRequest.getCategory());
-        job.setEmployer(currentUser); // Set the employer
+        Job job = newJob(jobRequest, currentUser);
+        
+        Job savedJob = jobRepository.save(job);
+        statusCounters.move(StatusCounters.EMPLOYER_JOBS, currentUser.getId(), null, savedJob.getStatus());
+        onJobSaved(savedJob);
+        return savedJob;
+    }
+    
+    /**
+     * Import job postings from an NDJSON or CSV upload (only employers can import jobs)
+     * The upload is read a batch at a time (jobportal.import.batch-size records): the batch is parsed and
+     * validated in parallel, the valid records are written with one bulk write, and a result line per
+     * record is streamed back before the next batch is read, so memory stays flat however large the upload
+     * Records with an externalRef are upserted on it, so importing the same file again is idempotent
+     * CSV list columns (requiredSkills, responsibilities, requirements, benefits, tags) are separated by ';'
+     * @param upload Request body
+     * @param format Upload format
+     * @return StreamingResponseBody - Writes one NDJSON result line per record, then the totals
+     */
+    public StreamingResponseBody importJobs(InputStream upload, ExportFormat format) {
+        User employer = currentUserHolder.getUser();
+        if (!employer.isEmployer()) {
+            throw UnauthorizedAccessException.forAction("import jobs");
+        }
         
-        return jobRepository.save(job);
+        return out -> {
+            ExportWriter<Object> writer = new ExportWriter<>(out, ExportFormat.NDJSON, objectMapper, null, null);
+            JobImportReport report = new JobImportReport();
+            ImportReader reader;
+            try {
+                reader = new ImportReader(upload, format);
+            } catch (IllegalArgumentException e) {
+                // Missing or unreadable CSV header: nothing can be imported
+                JobImportReport.Line line = new JobImportReport.Line(1, null);
+                line.rejected(JobImportReport.INVALID, List.of(e.getMessage()));
+                report.count(line);
+                writer.write(line);
+                writer.write(report);
+                writer.finish();
+                return;
+            }
+            
+            try {
+                List<ImportReader.Record> records;
+                while (!(records = reader.nextBatch(importBatchSize)).isEmpty()) {
+                    List<JobImportReport.Line> lines = importBatch(records, reader, format, employer);
+                    lines.forEach(report::count);
+                    writer.writeBatch(new ArrayList<>(lines));
+                }
+            } finally {
+                // Once per import rather than per job
+                if (report.getCreated() + report.getUpdated() > 0) {
+                    statusCounters.moveAll(StatusCounters.EMPLOYER_JOBS,
+                            Map.of(employer.getId(), Map.of("ACTIVE", report.getCreated())));
+                    jobCountCache.invalidateAll();
+                    responseByteCache.invalidateLists();
+                    jobFeed.requestRebuild();
+                }
+            }
+            writer.write(report);
+            writer.finish();
+        };
     }
     
     /**
@@ -70,35 +181,39 @@ public class JobService {
      * @return Updated Job
      */
     public Job updateJob(String jobId, JobRequest jobRequest) {
-        // Find existing job
-        Job existingJob = jobRepository.findById(jobId)
-                .orElseThrow(() -> JobNotFoundException.byId(jobId));
+        // Write the request's fields with one $set; the ownership check is part of the update query,
+        // so the job is not read first and the employer, counters and createdAt are left untouched
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("title", jobRequest.getTitle());
+        fields.put("description", jobRequest.getDescription());
+        fields.put("companyName", jobRequest.getCompanyName());
+        fields.put("location", jobRequest.getLocation());
+        fields.put("jobType", jobRequest.getJobType());
+        fields.put("experienceLevel", jobRequest.getExperienceLevel());
+        fields.put("salaryMin", jobRequest.getSalaryMin());
+        fields.put("salaryMax", jobRequest.getSalaryMax());
+        fields.put("salaryCurrency", jobRequest.getSalaryCurrency());
+        fields.put("requiredSkills", jobRequest.getRequiredSkills());
+        fields.put("responsibilities", jobRequest.getResponsibilities());
+        fields.put("requirements", jobRequest.getRequirements());
+        fields.put("benefits", jobRequest.getBenefits());
+        fields.put("applicationDeadline", jobRequest.getApplicationDeadline());
+        fields.put("tags", jobRequest.getTags());
+        fields.put("category", jobRequest.getCategory());
         
-        // Get current user and verify they own this job
-        User currentUser = userService.getCurrentUser();
-        if (!existingJob.getEmployer().getId().equals(currentUser.getId())) {
-            throw UnauthorizedAccessException.forAction("update this job");
+        Job savedJob = jobRepository.updateOwnedJob(jobId, currentUserHolder.getUserId(), jobRequest.getVersion(), fields);
+        if (savedJob == null) {
+            // Only reached on failure: tell a missing job from someone else's or from a stale version
+            Job existingJob = jobRepository.findById(jobId)
+                    .orElseThrow(() -> JobNotFoundException.byId(jobId));
+            if (!existingJob.getEmployer().getId().equals(currentUserHolder.getUserId())) {
+                throw UnauthorizedAccessException.forAction("update this job");
+            }
+            throw ConcurrentUpdateException.forJob(jobId);
         }
         
-        // Update job fields
-        existingJob.setTitle(jobRequest.getTitle());
-        existingJob.setDescription(jobRequest.getDescription());
-        existingJob.setCompanyName(jobRequest.getCompanyName());
-        existingJob.setLocation(jobRequest.getLocation());
-        existingJob.setJobType(jobRequest.getJobType());
-        existingJob.setExperienceLevel(jobRequest.getExperienceLevel());
-        existingJob.setSalaryMin(jobRequest.getSalaryMin());
-        existingJob.setSalaryMax(jobRequest.getSalaryMax());
-        existingJob.setSalaryCurrency(jobRequest.getSalaryCurrency());
-        existingJob.setRequiredSkills(jobRequest.getRequiredSkills());
-        existingJob.setResponsibilities(jobRequest.getResponsibilities());
-        existingJob.setRequirements(jobRequest.getRequirements());
-        existingJob.setBenefits(jobRequest.getBenefits());
-        existingJob.setApplicationDeadline(jobRequest.getApplicationDeadline());
-        existingJob.setTags(jobRequest.getTags());
-        existingJob.setCategory(jobRequest.getCategory());
-        
-        return jobRepository.save(existingJob);
+        onJobSaved(savedJob);
+        return savedJob;
     }
     
     /**
@@ -111,26 +226,30 @@ public class JobService {
                 .orElseThrow(() -> JobNotFoundException.byId(jobId));
         
         // Get current user and verify they own this job
-        User currentUser = userService.getCurrentUser();
-        if (!existingJob.getEmployer().getId().equals(currentUser.getId())) {
+        if (!existingJob.getEmployer().getId().equals(currentUserHolder.getUserId())) {
             throw UnauthorizedAccessException.forAction("delete this job");
         }
         
+        // Tombstone first: if the delete then fails, the feed only reports a deletion that did not happen
+        // (the job reappears on its next write), instead of never reporting one that did
+        jobRepository.recordDeletion(jobId);
         jobRepository.delete(existingJob);
+        statusCounters.move(StatusCounters.EMPLOYER_JOBS, currentUserHolder.getUserId(), existingJob.getStatus(), null);
+        onJobRemoved(jobId);
     }
     
     /**
-     * Get job by ID and increment view count
+     * Get job by ID and record a view
+     * The job is served from JobDetailCache; the view is counted on every call, cached or not,
+     * in memory and flushed to MongoDB in batches by JobViewCounter
      * @param jobId Job ID
      * @return Job details
      */
     public Job getJobById(String jobId) {
-        Job job = jobRepository.findById(jobId)
+        Job job = jobDetailCache.findById(jobId)
                 .orElseThrow(() -> JobNotFoundException.byId(jobId));
         
-        // Increment view count
-        job.incrementViewCount();
-        jobRepository.save(job);
+        jobViewCounter.recordView(jobId);
         
         return job;
     }
@@ -141,9 +260,19 @@ public class JobService {
      * @param size Page size
      * @return Page of active jobs
      */
-    public Page<Job> getAllActiveJobs(int page, int size) {
+    public Page<JobSummary> getAllActiveJobs(int page, int size) {
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return jobRepository.findByStatus("ACTIVE", pageable);
+        return jobRepository.findSummariesByStatus("ACTIVE", pageable);
+    }
+    
+    /**
+     * Get active jobs with cursor pagination (newest first, no total count)
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of active jobs with the token for the next slice
+     */
+    public CursorSlice<JobSummary> scrollActiveJobs(String cursor, int size) {
+        return jobRepository.findSummarySliceByStatus("ACTIVE", cursor, size);
     }
     
     /**
@@ -152,18 +281,32 @@ public class JobService {
      * @param size Page size
      * @return Page of jobs posted by current employer
      */
-    public Page<Job> getMyJobs(int page, int size) {
-        User currentUser = userService.getCurrentUser();
-        if (!currentUser.isEmployer()) {
+    public Page<JobSummary> getMyJobs(int page, int size) {
+        if (!currentUserHolder.isEmployer()) {
             throw UnauthorizedAccessException.forAction("access job postings");
         }
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return jobRepository.findByEmployer(currentUser, pageable);
+        return jobRepository.findSummariesByEmployerId(currentUserHolder.getUserId(), pageable);
+    }
+    
+    /**
+     * Get jobs posted by current employer with cursor pagination
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of jobs posted by current employer
+     */
+    public CursorSlice<JobSummary> scrollMyJobs(String cursor, int size) {
+        if (!currentUserHolder.isEmployer()) {
+            throw UnauthorizedAccessException.forAction("access job postings");
+        }
+        
+        return jobRepository.findSummarySliceByEmployerId(currentUserHolder.getUserId(), cursor, size);
     }
     
     /**
      * Search jobs with multiple criteria
+     * Keyword searches are BM25-ranked, filter-only searches are sorted by newest first
      * @param title Job title keywords
      * @param location Job location
      * @param jobType Job type
@@ -172,14 +315,29 @@ public class JobService {
      * @return Page of matching jobs
      */
     
-    //update on 26-08-25 time 11:20 
-    public Page<Job> searchJobs(String title, String location, String jobType, int page, int size) {
-    	if (title == null) title = "";
-        if (location == null) location = "";
-        if( jobType == null) jobType = "";
+    public Page<JobSummary> searchJobs(String title, String location, String jobType, int page, int size) {
+        // Keyword searches are ranked by relevance from the in-memory index once it is built
+        if (title != null && !title.isBlank() && jobSearchIndex.isReady()) {
+            return jobSearchIndex.search(title, location, jobType, page, size);
+        }
         
+        // Blank filters are skipped by the query builder, so no need to default them here
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        return jobRepository.searchJobs(title, location, jobType, pageable);
+        return jobRepository.searchActiveJobs(title, location, jobType, pageable);
+    }
+    
+    /**
+     * Search jobs with cursor pagination
+     * Results are always newest first - relevance ranking has no stable keyset to continue from
+     * @param title Job title keywords
+     * @param location Job location
+     * @param jobType Job type
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of matching jobs with the token for the next slice
+     */
+    public CursorSlice<JobSummary> scrollJobs(String title, String location, String jobType, String cursor, int size) {
+        return jobRepository.searchActiveJobsSlice(title, location, jobType, cursor, size);
     }
     
 //    public Page<Job> searchJobs(String title, String location, String jobType, int page, int size) {
@@ -213,23 +371,33 @@ public class JobService {
     
     /**
      * Get recent jobs for homepage
+     * Served from the materialized feed, with a query fallback until it is built
      * @param limit Number of jobs to return
      * @return List of recent jobs
      */
-    public List<Job> getRecentJobs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<Job> jobPage = jobRepository.findRecentJobs(pageable);
+    public List<JobSummary> getRecentJobs(int limit) {
+        List<JobSummary> feed = jobFeed.getRecent(limit);
+        if (feed != null) {
+            return feed;
+        }
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("createdAt").descending());
+        Page<JobSummary> jobPage = jobRepository.findSummariesByStatus("ACTIVE", pageable);
         return jobPage.getContent();
     }
     
     /**
-     * Get popular jobs (by view count)
+     * Get popular jobs (by view count, or by trending score when enabled)
+     * Served from the materialized feed, with a query fallback until it is built
      * @param limit Number of jobs to return
      * @return List of popular jobs
      */
-    public List<Job> getPopularJobs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        Page<Job> jobPage = jobRepository.findPopularJobs(pageable);
+    public List<JobSummary> getPopularJobs(int limit) {
+        List<JobSummary> feed = jobFeed.getPopular(limit);
+        if (feed != null) {
+            return feed;
+        }
+        Pageable pageable = PageRequest.of(0, limit, Sort.by("viewCount").descending());
+        Page<JobSummary> jobPage = jobRepository.findSummariesByStatus("ACTIVE", pageable);
         return jobPage.getContent();
     }
     
@@ -237,43 +405,264 @@ public class JobService {
      * Change job status (ACTIVE, CLOSED, DRAFT)
      * @param jobId Job ID
      * @param status New status
+     * @param expectedVersion Version the client last read (null if it did not send one)
      * @return Updated job
      */
-    public Job changeJobStatus(String jobId, String status) {
-        Job job = jobRepository.findById(jobId)
-                .orElseThrow(() -> JobNotFoundException.byId(jobId));
-        
-        // Verify current user owns this job
-        User currentUser = userService.getCurrentUser();
-        if (!job.getEmployer().getId().equals(currentUser.getId())) {
-            throw UnauthorizedAccessException.forAction("modify this job");
-        }
-        
+    public Job changeJobStatus(String jobId, String status, Long expectedVersion) {
         // Validate status
         if (!status.equals("ACTIVE") && !status.equals("CLOSED") && !status.equals("DRAFT")) {
             throw new IllegalArgumentException("Invalid job status: " + status);
         }
         
-        job.setStatus(status);
-        return jobRepository.save(job);
+        Job savedJob;
+        if (expectedVersion != null) {
+            // The client decided on the version it read, so any change since then is a conflict for it to resolve
+            savedJob = setJobStatus(jobId, status, expectedVersion);
+            if (savedJob == null) {
+                throw ConcurrentUpdateException.forJob(jobId);
+            }
+        } else {
+            // No client version: a concurrent edit makes the attempt start over from a fresh read
+            savedJob = conflictRetry.run(() -> setJobStatus(jobId, status, null),
+                    () -> ConcurrentUpdateException.forJob(jobId));
+        }
+        
+        onJobSaved(savedJob);
+        return savedJob;
+    }
+    
+    /**
+     * Stream the job feed for aggregators (public)
+     * Without a since-token every ACTIVE job is streamed; with one, only the jobs written since then, plus
+     * tombstones for jobs deleted or no longer ACTIVE. The feed is written as it is read from MongoDB
+     * cursors, gzipped on the fly when asked to, so memory stays flat however many jobs there are
+     * @param format NDJSON or XML
+     * @param since Token from a previous feed, blank for the full feed
+     * @param gzip Whether to gzip the body
+     * @return FeedExport - The body and the token for the next poll
+     */
+    public FeedExport exportJobFeed(ExportFormat format, String since, boolean gzip) {
+        LocalDateTime sinceTime = FeedToken.decode(since);
+        LocalDateTime now = LocalDateTime.now();
+        if (sinceTime != null && sinceTime.isBefore(now.minus(JobTombstone.RETENTION))) {
+            throw new IllegalArgumentException("since token is older than " + JobTombstone.RETENTION.toDays()
+                    + " days, fetch the full feed instead");
+        }
+        
+        // The next poll starts a little before now, so writes still in flight while this feed is read are not missed
+        // (entries can repeat across polls; aggregators apply them by id)
+        String nextSince = FeedToken.encode(now.minus(feedOverlap));
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192, true) : out;
+            JobFeedWriter writer = new JobFeedWriter(target, format, objectMapper, nextSince, feedBatchSize);
+            if (sinceTime == null) {
+                jobRepository.forEachActiveFeedEntry(feedBatchSize, writer::write);
+            } else {
+                jobRepository.forEachFeedChange(sinceTime, feedBatchSize, writer::write);
+            }
+            writer.finish();
+            if (target instanceof GZIPOutputStream compressed) {
+                compressed.finish();
+            }
+        };
+        return new FeedExport(nextSince, body);
     }
     
     /**
      * Get job statistics for an employer
+     * Counts come from one $group aggregation, or from the status counters when enabled
      * @return Job statistics
      */
     public JobStats getJobStats() {
-        User currentUser = userService.getCurrentUser();
-        if (!currentUser.isEmployer()) {
+        if (!currentUserHolder.isEmployer()) {
             throw UnauthorizedAccessException.forAction("access job statistics");
         }
         
-        long totalJobs = jobRepository.countByEmployer(currentUser);
-        long activeJobs = jobRepository.countByEmployerAndStatus(currentUser, "ACTIVE");
-        long closedJobs = jobRepository.countByEmployerAndStatus(currentUser, "CLOSED");
-        long draftJobs = jobRepository.countByEmployerAndStatus(currentUser, "DRAFT");
+        String employerId = currentUserHolder.getUserId();
+        Map<String, Long> counts = statusCounters.get(StatusCounters.EMPLOYER_JOBS, employerId,
+                () -> jobRepository.countByEmployerIdGroupedByStatus(employerId));
+        
+        long totalJobs = counts.values().stream().mapToLong(Long::longValue).sum();
+        return new JobStats(totalJobs, counts.getOrDefault("ACTIVE", 0L),
+                counts.getOrDefault("CLOSED", 0L), counts.getOrDefault("DRAFT", 0L));
+    }
+    
+    // Helper methods
+    
+    /**
+     * Parse, validate and write one batch of imported records
+     * @return List<JobImportReport.Line> - Result of each record, in upload order
+     */
+    private List<JobImportReport.Line> importBatch(List<ImportReader.Record> records, ImportReader reader,
+                                                   ExportFormat format, User employer) {
+        // Parsing and bean validation are CPU-bound and independent per record
+        List<ImportedRecord> imported = records.parallelStream()
+                .map(record -> parseImportRecord(record, reader, format, employer))
+                .toList();
+        
+        List<Job> jobs = new ArrayList<>();
+        List<JobImportReport.Line> written = new ArrayList<>();
+        for (ImportedRecord record : imported) {
+            if (record.job != null) {
+                jobs.add(record.job);
+                written.add(record.line);
+            }
+        }
+        jobRepository.importBatch(employer, jobs, written);
+        
+        for (Job job : jobs) {
+            if (job.getId() != null) {
+                jobSearchIndex.index(job);
+                jobDetailCache.evict(job.getId());
+            }
+        }
+        return imported.stream().map(record -> record.line).toList();
+    }
+    
+    /**
+     * Parse and validate one imported record into a job (null job when the record is rejected)
+     */
+    private ImportedRecord parseImportRecord(ImportReader.Record record, ImportReader reader, ExportFormat format,
+                                             User employer) {
+        JobRequest jobRequest;
+        try {
+            jobRequest = format == ExportFormat.CSV
+                    ? objectMapper.convertValue(toImportFields(reader.csvCells(record.getText())), JobRequest.class)
+                    : objectMapper.readValue(record.getText(), JobRequest.class);
+        } catch (IOException | IllegalArgumentException e) {
+            JobImportReport.Line line = new JobImportReport.Line(record.getLine(), null);
+            line.rejected(JobImportReport.INVALID, List.of("Unreadable record: " + e.getMessage()));
+            return new ImportedRecord(line, null);
+        }
         
-        return new JobStats(totalJobs, activeJobs, closedJobs, draftJobs);
+        String externalRef = jobRequest.getExternalRef() == null || jobRequest.getExternalRef().isBlank()
+                ? null : jobRequest.getExternalRef().trim();
+        JobImportReport.Line line = new JobImportReport.Line(record.getLine(), externalRef);
+        Set<ConstraintViolation<JobRequest>> violations = validator.validate(jobRequest);
+        if (!violations.isEmpty()) {
+            line.rejected(JobImportReport.INVALID, violations.stream().map(ConstraintViolation::getMessage).sorted().toList());
+            return new ImportedRecord(line, null);
+        }
+        
+        Job job = newJob(jobRequest, employer);
+        job.setExternalRef(externalRef);
+        return new ImportedRecord(line, job);
+    }
+    
+    /**
+     * CSV cells as JobRequest fields, with the list columns split on ';'
+     */
+    private Map<String, Object> toImportFields(Map<String, String> cells) {
+        Map<String, Object> fields = new LinkedHashMap<>(cells);
+        for (String column : IMPORT_LIST_COLUMNS) {
+            String cell = cells.get(column);
+            if (cell != null) {
+                fields.put(column, Arrays.stream(cell.split(";")).map(String::trim).filter(value -> !value.isEmpty()).toList());
+            }
+        }
+        return fields;
+    }
+    
+    /**
+     * Build a new job posted by the given employer from a request
+     */
+    private Job newJob(JobRequest jobRequest, User employer) {
+        Job job = new Job();
+        job.setTitle(jobRequest.getTitle());
+        job.setDescription(jobRequest.getDescription());
+        job.setCompanyName(jobRequest.getCompanyName());
+        job.setLocation(jobRequest.getLocation());
+        job.setJobType(jobRequest.getJobType());
+        job.setExperienceLevel(jobRequest.getExperienceLevel());
+        job.setSalaryMin(jobRequest.getSalaryMin());
+        job.setSalaryMax(jobRequest.getSalaryMax());
+        job.setSalaryCurrency(jobRequest.getSalaryCurrency());
+        job.setRequiredSkills(jobRequest.getRequiredSkills());
+        job.setResponsibilities(jobRequest.getResponsibilities());
+        job.setRequirements(jobRequest.getRequirements());
+        job.setBenefits(jobRequest.getBenefits());
+        job.setApplicationDeadline(jobRequest.getApplicationDeadline());
+        job.setTags(jobRequest.getTags());
+        job.setCategory(jobRequest.getCategory());
+        job.setEmployer(employer);
+        return job;
+    }
+    
+    /**
+     * One compare-and-set attempt at a status change, against the version read here
+     * @return Job - The updated job, or null if its version is not expectedVersion (when given) or changed meanwhile
+     */
+    private Job setJobStatus(String jobId, String status, Long expectedVersion) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> JobNotFoundException.byId(jobId));
+        
+        // Verify current user owns this job
+        if (!job.getEmployer().getId().equals(currentUserHolder.getUserId())) {
+            throw UnauthorizedAccessException.forAction("modify this job");
+        }
+        
+        String previousStatus = job.getStatus();
+        Long version = job.getVersion();
+        if (expectedVersion != null && !expectedVersion.equals(version)) {
+            return null;
+        }
+        job.setStatus(status);
+        if (!jobRepository.updateIfVersion(jobId, version, Map.of("status", status, "updatedAt", job.getUpdatedAt()))) {
+            return null;
+        }
+        job.setVersion(version == null ? 1 : version + 1);
+        statusCounters.move(StatusCounters.EMPLOYER_JOBS, currentUserHolder.getUserId(), previousStatus, status);
+        return job;
+    }
+    
+    /**
+     * Bring the search index and the caches up to date after a job was created or changed
+     */
+    private void onJobSaved(Job savedJob) {
+        jobSearchIndex.index(savedJob);
+        jobCountCache.invalidateAll();
+        jobDetailCache.evict(savedJob.getId());
+        responseByteCache.invalidateLists();
+        jobFeed.requestRebuild();
+    }
+    
+    /**
+     * Drop a deleted job from the search index and the caches
+     */
+    private void onJobRemoved(String jobId) {
+        jobViewCounter.forget(jobId);
+        jobSearchIndex.remove(jobId);
+        jobCountCache.invalidateAll();
+        jobDetailCache.evict(jobId);
+        responseByteCache.invalidateLists();
+        jobFeed.requestRebuild();
+    }
+    
+    private static final class ImportedRecord {
+        private final JobImportReport.Line line;
+        private final Job job;
+        
+        private ImportedRecord(JobImportReport.Line line, Job job) {
+            this.line = line;
+            this.job = job;
+        }
+    }
+    
+    /**
+     * Inner class for a job feed response
+     */
+    public static class FeedExport {
+        private final String nextSince;
+        private final StreamingResponseBody body;
+        
+        public FeedExport(String nextSince, StreamingResponseBody body) {
+            this.nextSince = nextSince;
+            this.body = body;
+        }
+        
+        // Getters
+        public String getNextSince() { return nextSince; }
+        public StreamingResponseBody getBody() { return body; }
     }
     
     /**
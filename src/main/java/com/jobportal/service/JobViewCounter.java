@@ -0,0 +1,143 @@
+package com.jobportal.service;
+
+import com.jobportal.model.Job;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Job View Counter
+ * This component aggregates job views in memory and writes them to MongoDB in batches.
+ * Recording a view is lock-free: each job has a LongAdder that is never reset. The flush sends the
+ * difference between its sum and what was already written, as one unordered bulk of $inc updates,
+ * so a view recorded during a flush is part of the next difference. A job's counter is dropped when
+ * the job is deleted.
+ */
+@Component
+public class JobViewCounter {
+    
+    @Autowired
+    private MongoTemplate mongoTemplate;
+    
+    // jobId -> views recorded and views already written
+    private final ConcurrentHashMap<String, ViewCount> viewCounts = new ConcurrentHashMap<>();
+    
+    /**
+     * Record a single view of a job
+     * @param jobId Job ID
+     */
+    public void recordView(String jobId) {
+        ViewCount count = viewCounts.get(jobId);
+        if (count == null) {
+            count = viewCounts.computeIfAbsent(jobId, id -> new ViewCount());
+        }
+        count.views.increment();
+    }
+    
+    /**
+     * Get views recorded for a job that are not yet written to MongoDB
+     * @param jobId Job ID
+     * @return Number of pending views
+     */
+    public long getPendingViews(String jobId) {
+        ViewCount count = viewCounts.get(jobId);
+        return count == null ? 0 : count.views.sum() - count.flushed;
+    }
+    
+    /**
+     * Drop the counter of a deleted job (its unwritten views have no document left to update)
+     * @param jobId Job ID
+     */
+    public void forget(String jobId) {
+        viewCounts.remove(jobId);
+    }
+    
+    /**
+     * Write pending view counts to MongoDB
+     * Runs on a fixed interval (jobportal.views.flush-interval-ms)
+     */
+    @Scheduled(fixedDelayString = "${jobportal.views.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<PendingFlush> updates = new ArrayList<>();
+        for (Map.Entry<String, ViewCount> entry : viewCounts.entrySet()) {
+            long total = entry.getValue().views.sum();
+            if (total > entry.getValue().flushed) {
+                updates.add(new PendingFlush(entry.getKey(), entry.getValue(), total));
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Job.class);
+        for (PendingFlush update : updates) {
+            bulk.updateOne(new Query(Criteria.where("_id").is(update.jobId)),
+                    new Update().inc("viewCount", update.total - update.count.flushed));
+        }
+        
+        try {
+            bulk.execute();
+            updates.forEach(PendingFlush::written);
+        } catch (BulkOperationException e) {
+            // Failed updates keep their flushed mark, so the next flush sends their views again
+            boolean[] failed = new boolean[updates.size()];
+            e.getErrors().forEach(error -> failed[error.getIndex()] = true);
+            for (int i = 0; i < updates.size(); i++) {
+                if (!failed[i]) {
+                    updates.get(i).written();
+                }
+            }
+            System.err.println("Failed to flush some job view counts: " + e.getMessage());
+        } catch (Exception e) {
+            System.err.println("Failed to flush job view counts: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Flush remaining views before the application shuts down
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+    
+    /**
+     * Views of one job: recorded (lock-free) and written so far (only moved by flush())
+     */
+    private static final class ViewCount {
+        private final LongAdder views = new LongAdder();
+        private volatile long flushed;
+    }
+    
+    /**
+     * One job's $inc in a flush: the counter's sum when the batch was built
+     */
+    private static final class PendingFlush {
+        private final String jobId;
+        private final ViewCount count;
+        private final long total;
+        
+        private PendingFlush(String jobId, ViewCount count, long total) {
+            this.jobId = jobId;
+            this.count = count;
+            this.total = total;
+        }
+        
+        private void written() {
+            count.flushed = total;
+        }
+    }
+}
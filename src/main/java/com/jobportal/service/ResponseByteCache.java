@@ -0,0 +1,167 @@
+package com.jobportal.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobportal.util.AcceptEncoding;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.time.Duration;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response Byte Cache
+ * Keeps hot public responses as already-encoded UTF-8 JSON (and its gzip form) and writes the
+ * bytes straight to the servlet output stream, so Jackson runs once per cached version instead
+ * of on every request. Keys carry the version of what they render (for example the job's
+ * updatedAt), so a changed job simply gets a new key; list keys are dropped on job writes.
+ * The cache is bounded by total bytes (jobportal.response-cache.max-bytes) and can keep the
+ * bytes off-heap in direct buffers (jobportal.response-cache.off-heap).
+ */
+@Component
+public class ResponseByteCache {
+
+    private static final String GZIP = "gzip";
+    private static final String LIST_KEY_PREFIX = "list:";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final boolean enabled;
+    private final boolean offHeap;
+    private final Cache<String, EncodedResponse> responses;
+
+    public ResponseByteCache(MeterRegistry meterRegistry,
+                             @Value("${jobportal.response-cache.enabled:true}") boolean enabled,
+                             @Value("${jobportal.response-cache.off-heap:false}") boolean offHeap,
+                             @Value("${jobportal.response-cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${jobportal.response-cache.ttl:10s}") Duration ttl) {
+        this.enabled = enabled;
+        this.offHeap = offHeap;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, EncodedResponse response) -> response.weight())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "responses.bytes");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Key for a rendered job
+     * @param jobId Job ID
+     * @param version Version of the job (changes whenever the job does)
+     * @return String - Cache key
+     */
+    public static String jobKey(String jobId, Object version) {
+        return "job:" + jobId + ":" + version;
+    }
+
+    /**
+     * Key for a rendered job list (dropped by invalidateLists)
+     * @param name List name
+     * @param limit Number of jobs in the list
+     * @return String - Cache key
+     */
+    public static String listKey(String name, int limit) {
+        return LIST_KEY_PREFIX + name + ":" + limit;
+    }
+
+    /**
+     * Write a 200 JSON response from cached bytes, rendering the body once on a miss
+     * Gzip bytes are sent when the client accepts them
+     * IOExceptions (e.g. a client abort) mean the response may already be committed; callers let them propagate
+     * @param key Cache key (including the version of the content)
+     * @param body Builds the response body on a miss
+     * @param request Current request
+     * @param response Current response
+     */
+    public void write(String key, Supplier<Object> body, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        EncodedResponse encoded = responses.get(key, k -> encode(body.get()));
+
+        boolean gzip = AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ByteBuffer bytes = gzip ? encoded.gzip.duplicate() : encoded.json.duplicate();
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentLength(bytes.remaining());
+
+        OutputStream out = response.getOutputStream();
+        if (bytes.hasArray()) {
+            out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        } else {
+            Channels.newChannel(out).write(bytes);
+        }
+        out.flush();
+    }
+
+    /**
+     * Drop every cached list response
+     * Called when a job is created, edited, deleted or changes status
+     */
+    public void invalidateLists() {
+        responses.asMap().keySet().removeIf(key -> key.startsWith(LIST_KEY_PREFIX));
+    }
+
+    // Helper methods
+
+    private EncodedResponse encode(Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            return new EncodedResponse(store(json), store(compressed.toByteArray()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ByteBuffer store(byte[] bytes) {
+        if (!offHeap) {
+            return ByteBuffer.wrap(bytes);
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        return direct;
+    }
+
+    private static final class EncodedResponse {
+        private final ByteBuffer json;
+        private final ByteBuffer gzip;
+
+        private EncodedResponse(ByteBuffer json, ByteBuffer gzip) {
+            this.json = json;
+            this.gzip = gzip;
+        }
+
+        private int weight() {
+            return json.capacity() + gzip.capacity();
+        }
+    }
+}
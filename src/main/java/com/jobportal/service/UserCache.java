@@ -0,0 +1,88 @@
+package com.jobportal.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.jobportal.model.User;
+import com.jobportal.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * User Cache
+ * Bounded in-memory (L1) cache of User documents keyed by id and by email.
+ * Entries are evicted by size and age, and dropped whenever a user is written
+ * (signup, updateProfile). Hit, miss and eviction stats are published as the
+ * cache.* metrics with cache=users.byId / users.byEmail.
+ * Cached instances are shared - callers that modify a user must load it from the repository.
+ */
+@Component
+public class UserCache {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final Cache<String, User> usersById;
+    private final Cache<String, User> usersByEmail;
+
+    public UserCache(MeterRegistry meterRegistry,
+                     @Value("${jobportal.users.cache.max-size:10000}") long maxSize,
+                     @Value("${jobportal.users.cache.ttl:10m}") Duration ttl) {
+        this.usersById = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users.byEmail");
+    }
+
+    /**
+     * Find user by ID, loading it on a miss
+     * @param userId User ID
+     * @return Optional<User> - User if found, empty if not found (not found is not cached)
+     */
+    public Optional<User> findById(String userId) {
+        return Optional.ofNullable(usersById.get(userId, id -> {
+            User loaded = userRepository.findById(id).orElse(null);
+            if (loaded != null) {
+                usersByEmail.put(loaded.getEmail(), loaded);
+            }
+            return loaded;
+        }));
+    }
+
+    /**
+     * Find user by email, loading it on a miss
+     * @param email User's email address
+     * @return Optional<User> - User if found, empty if not found (not found is not cached)
+     */
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(usersByEmail.get(email, key -> {
+            User loaded = userRepository.findByEmail(key).orElse(null);
+            if (loaded != null) {
+                usersById.put(loaded.getId(), loaded);
+            }
+            return loaded;
+        }));
+    }
+
+    /**
+     * Drop a user from both views after it was written
+     * @param user Saved User entity
+     */
+    public void evict(User user) {
+        usersById.invalidate(user.getId());
+        usersByEmail.invalidate(user.getEmail());
+    }
+}
@@ -5,14 +5,21 @@ import com.jobportal.exception.UserNotFoundException;
 import com.jobportal.model.User;
 import com.jobportal.repository.UserRepository;
 import com.jobportal.request.UpdateProfileRequest;
+import com.jobportal.response.CandidateSummary;
+import com.jobportal.response.CursorSlice;
 import com.jobportal.response.UserResponse;
+import com.jobportal.util.ExportFormat;
+import com.jobportal.util.ExportWriter;
 import com.jobportal.dtoMapper.UserMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -28,13 +35,25 @@ public class UserService {
     @Autowired
     private UserMapper userMapper;
     
+    @Autowired
+    private CurrentUserHolder currentUserHolder;
+    
+    @Autowired
+    private UserCache userCache;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Value("${jobportal.export.batch-size:500}")
+    private int exportBatchSize;
+    
     /**
      * Get user profile by ID
      * @param userId User ID
      * @return UserResponse
      */
     public UserResponse getUserProfile(String userId) {
-        User user = userRepository.findById(userId)
+        User user = userCache.findById(userId)
                 .orElseThrow(() -> UserNotFoundException.byId(userId));
         
         return userMapper.toUserResponse(user);
@@ -47,82 +66,46 @@ public class UserService {
      * @return Updated UserResponse
      */
     public UserResponse updateProfile(String userId, UpdateProfileRequest updateRequest) {
-        // Get current authenticated user
-        String currentUserEmail = getCurrentUserEmail();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> UserNotFoundException.byEmail(currentUserEmail));
-        
-        // Check if user is updating their own profile
-        if (!currentUser.getId().equals(userId)) {
+        // Check if user is updating their own profile (before loading anything)
+        if (!currentUserHolder.getUserId().equals(userId)) {
             throw UnauthorizedAccessException.forAction("update profile");
         }
         
-        // Update user fields
-        if (updateRequest.getFirstName() != null) {
-            currentUser.setFirstName(updateRequest.getFirstName());
-        }
-        if (updateRequest.getLastName() != null) {
-            currentUser.setLastName(updateRequest.getLastName());
-        }
-        if (updateRequest.getPhone() != null) {
-            currentUser.setPhone(updateRequest.getPhone());
-        }
-        if (updateRequest.getAddress() != null) {
-            currentUser.setAddress(updateRequest.getAddress());
-        }
-        if (updateRequest.getCity() != null) {
-            currentUser.setCity(updateRequest.getCity());
-        }
-        if (updateRequest.getState() != null) {
-            currentUser.setState(updateRequest.getState());
-        }
-        if (updateRequest.getCountry() != null) {
-            currentUser.setCountry(updateRequest.getCountry());
-        }
-        if (updateRequest.getProfilePicture() != null) {
-            currentUser.setProfilePicture(updateRequest.getProfilePicture());
-        }
+        // Collect only the fields that were sent; they are written with a single $set, without reading the user first
+        Map<String, Object> fields = new LinkedHashMap<>();
+        putIfPresent(fields, "firstName", updateRequest.getFirstName());
+        putIfPresent(fields, "lastName", updateRequest.getLastName());
+        putIfPresent(fields, "phone", updateRequest.getPhone());
+        putIfPresent(fields, "address", updateRequest.getAddress());
+        putIfPresent(fields, "city", updateRequest.getCity());
+        putIfPresent(fields, "state", updateRequest.getState());
+        putIfPresent(fields, "country", updateRequest.getCountry());
+        putIfPresent(fields, "profilePicture", updateRequest.getProfilePicture());
         
-        // Update job seeker specific fields
-        if (currentUser.isJobSeeker()) {
-            if (updateRequest.getResume() != null) {
-                currentUser.setResume(updateRequest.getResume());
-            }
-            if (updateRequest.getSkills() != null) {
-                currentUser.setSkills(updateRequest.getSkills());
-            }
-            if (updateRequest.getExperience() != null) {
-                currentUser.setExperience(updateRequest.getExperience());
-            }
-            if (updateRequest.getEducation() != null) {
-                currentUser.setEducation(updateRequest.getEducation());
-            }
-            if (updateRequest.getBio() != null) {
-                currentUser.setBio(updateRequest.getBio());
-            }
+        // Job seeker specific fields
+        if (currentUserHolder.isJobSeeker()) {
+            putIfPresent(fields, "resume", updateRequest.getResume());
+            putIfPresent(fields, "skills", updateRequest.getSkills());
+            putIfPresent(fields, "experience", updateRequest.getExperience());
+            putIfPresent(fields, "education", updateRequest.getEducation());
+            putIfPresent(fields, "bio", updateRequest.getBio());
         }
         
-        // Update employer specific fields
-        if (currentUser.isEmployer()) {
-            if (updateRequest.getCompanyName() != null) {
-                currentUser.setCompanyName(updateRequest.getCompanyName());
-            }
-            if (updateRequest.getCompanyDescription() != null) {
-                currentUser.setCompanyDescription(updateRequest.getCompanyDescription());
-            }
-            if (updateRequest.getWebsite() != null) {
-                currentUser.setWebsite(updateRequest.getWebsite());
-            }
-            if (updateRequest.getCompanySize() != null) {
-                currentUser.setCompanySize(updateRequest.getCompanySize());
-            }
-            if (updateRequest.getIndustry() != null) {
-                currentUser.setIndustry(updateRequest.getIndustry());
-            }
+        // Employer specific fields
+        if (currentUserHolder.isEmployer()) {
+            putIfPresent(fields, "companyName", updateRequest.getCompanyName());
+            putIfPresent(fields, "companyDescription", updateRequest.getCompanyDescription());
+            putIfPresent(fields, "website", updateRequest.getWebsite());
+            putIfPresent(fields, "companySize", updateRequest.getCompanySize());
+            putIfPresent(fields, "industry", updateRequest.getIndustry());
         }
         
-        // Save updated user
-        User updatedUser = userRepository.save(currentUser);
+        User updatedUser = userRepository.updateFields(userId, fields);
+        if (updatedUser == null) {
+            throw UserNotFoundException.byId(userId);
+        }
+        userCache.evict(updatedUser);
+        currentUserHolder.refresh(updatedUser);
         
         return userMapper.toUserResponse(updatedUser);
     }
@@ -143,17 +126,34 @@ public class UserService {
     }
     
     /**
-     * Get all job seekers (for employers)
-     * @return List of all job seekers
+     * Get the candidate directory (for employers)
+     * Job seekers newest first, directory fields only, read one slice at a time
+     * @param cursor Token from the previous slice, blank for the first slice
+     * @param size Slice size
+     * @return Slice of candidates
      */
-    public List<UserResponse> getAllJobSeekers() {
+    public CursorSlice<CandidateSummary> getCandidateDirectory(String cursor, int size) {
         // Only employers can view all job seekers
         checkEmployerAccess();
         
-        List<User> jobSeekers = userRepository.findAllJobSeekers();
-        return jobSeekers.stream()
-                .map(userMapper::toUserResponse)
-                .collect(Collectors.toList());
+        return userRepository.findCandidateSlice(cursor, size);
+    }
+    
+    /**
+     * Export the whole candidate directory (for employers)
+     * Access is checked before anything is streamed; each candidate is written as it comes off the cursor
+     * @param format Output format
+     * @return StreamingResponseBody - Writes the export to the response
+     */
+    public StreamingResponseBody exportCandidateDirectory(ExportFormat format) {
+        checkEmployerAccess();
+        
+        return out -> {
+            ExportWriter<CandidateSummary> writer = new ExportWriter<>(out, format, objectMapper,
+                    CandidateSummary.CSV_HEADER, CandidateSummary::csvValues);
+            userRepository.forEachCandidate(exportBatchSize, writer::write);
+            writer.finish();
+        };
     }
     
     /**
@@ -198,15 +198,12 @@ public class UserService {
     // Helper methods
     
     /**
-     * Get current authenticated user's email
-     * @return Current user's email
+     * Add a profile field to a partial update if it was sent
      */
-    private String getCurrentUserEmail() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication == null || !authentication.isAuthenticated()) {
-            throw new RuntimeException("User not authenticated");
+    private void putIfPresent(Map<String, Object> fields, String field, Object value) {
+        if (value != null) {
+            fields.put(field, value);
         }
-        return authentication.getName();
     }
     
     /**
@@ -214,22 +211,17 @@ public class UserService {
      * Throws exception if not an employer
      */
     private void checkEmployerAccess() {
-        String currentUserEmail = getCurrentUserEmail();
-        User currentUser = userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> UserNotFoundException.byEmail(currentUserEmail));
-        
-        if (!currentUser.isEmployer()) {
+        if (!currentUserHolder.isEmployer()) {
             throw UnauthorizedAccessException.forAction("access job seeker profiles");
         }
     }
     
     /**
      * Get current authenticated user entity
+     * Loaded at most once per request (see CurrentUserHolder)
      * @return Current User entity
      */
     public User getCurrentUser() {
-        String currentUserEmail = getCurrentUserEmail();
-        return userRepository.findByEmail(currentUserEmail)
-                .orElseThrow(() -> UserNotFoundException.byEmail(currentUserEmail));
+        return currentUserHolder.getUser();
     }
 }
\ No newline at end of file
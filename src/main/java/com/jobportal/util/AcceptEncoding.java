@@ -0,0 +1,54 @@
+package com.jobportal.util;
+
+import java.util.Locale;
+
+/**
+ * Accept-Encoding
+ * Reads a request's Accept-Encoding header with its q-values, so "gzip;q=0" is a refusal rather than
+ * a match. An explicit gzip (or x-gzip) entry wins over the "*" wildcard.
+ */
+public final class AcceptEncoding {
+
+    private AcceptEncoding() {}
+
+    /**
+     * Whether the client accepts a gzip-encoded response
+     * @param header Accept-Encoding header value (may be null)
+     * @return boolean - true if gzip (or *) is listed with a q-value above zero
+     */
+    public static boolean acceptsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : header.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = quality(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? quality : Math.max(gzip, quality);
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double chosen = gzip != null ? gzip : wildcard;
+        return chosen != null && chosen > 0;
+    }
+
+    // Helper methods
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && Character.toLowerCase(parameter.charAt(0)) == 'q' && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0; // Malformed q-value - treat as not acceptable
+                }
+            }
+        }
+        return 1;
+    }
+}
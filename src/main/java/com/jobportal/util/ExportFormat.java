@@ -0,0 +1,60 @@
+package com.jobportal.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Export Format
+ * Formats supported by the streaming export, import and feed endpoints
+ */
+public enum ExportFormat {
+
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv", "csv"),
+    XML("application/xml", "xml");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Parse a format request parameter of the export and import endpoints
+     * @param value "ndjson" or "csv" (case-insensitive)
+     * @return ExportFormat
+     * @throws IllegalArgumentException if the format is not supported
+     */
+    public static ExportFormat parse(String value) {
+        return parse(value, NDJSON, CSV);
+    }
+
+    /**
+     * Parse a format request parameter
+     * @param value Format name (case-insensitive)
+     * @param supported Formats the endpoint supports
+     * @return ExportFormat
+     * @throws IllegalArgumentException if the format is not one of the supported ones
+     */
+    public static ExportFormat parse(String value, ExportFormat... supported) {
+        try {
+            ExportFormat format = valueOf(value.trim().toUpperCase(Locale.ROOT));
+            if (Arrays.asList(supported).contains(format)) {
+                return format;
+            }
+        } catch (IllegalArgumentException | NullPointerException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Unsupported format: " + value);
+    }
+}
@@ -0,0 +1,111 @@
+package com.jobportal.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Export Writer
+ * Writes rows to a response stream as NDJSON (one JSON object per line) or CSV (with a header line)
+ * through a 64 KB buffer, flushing after every batch (or whenever the buffer fills) so the client
+ * receives data while the export is still being read. A slow client blocks the flush, which in turn
+ * holds back the next read from MongoDB.
+ * CSV cells starting with =, +, - or @ are prefixed with ' so spreadsheets do not run them as formulas.
+ * @param <T> Row type
+ */
+public class ExportWriter<T> {
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final Function<T, Object[]> csvValues;
+
+    /**
+     * @param out Response stream (not closed by this writer)
+     * @param format Output format
+     * @param objectMapper Mapper used for NDJSON lines
+     * @param csvHeader CSV column names (written immediately in CSV mode)
+     * @param csvValues CSV cell values of a row, in header order
+     */
+    public ExportWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper,
+                        String[] csvHeader, Function<T, Object[]> csvValues) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.csvValues = csvValues;
+        if (format == ExportFormat.CSV) {
+            writeCsvLine(csvHeader);
+        }
+    }
+
+    /**
+     * Write a batch of rows and flush it to the client
+     * @param rows Rows to write
+     */
+    public void writeBatch(List<T> rows) {
+        rows.forEach(this::write);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Write one row; it reaches the client when the 64 KB buffer fills or on finish()
+     * @param row Row to write
+     */
+    public void write(T row) {
+        try {
+            if (format == ExportFormat.CSV) {
+                writeCsvLine(csvValues.apply(row));
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flush whatever is still buffered
+     */
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    // Helper methods
+
+    private void writeCsvLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvCell(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvCell(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,41 @@
+package com.jobportal.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Feed Token
+ * Opaque since-token for the incremental job feed: the updatedAt from which the next poll reads changes.
+ */
+public final class FeedToken {
+
+    private FeedToken() {}
+
+    /**
+     * Build the token for a point in time
+     * @param since Start of the next change window
+     * @return String - URL-safe token
+     */
+    public static String encode(LocalDateTime since) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(since.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token sent back by a client
+     * @param token Token from a previous feed, blank for the full feed
+     * @return LocalDateTime, or null for the full feed
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static LocalDateTime decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid since token");
+        }
+    }
+}
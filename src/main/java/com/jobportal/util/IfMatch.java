@@ -0,0 +1,50 @@
+package com.jobportal.util;
+
+/**
+ * If-Match
+ * Reads the document version a client last saw from an If-Match header. The entity tag is the version
+ * number, quoted or not ("3", W/"3" and 3 are all version 3); "*" and a missing header mean no check.
+ */
+public final class IfMatch {
+
+    private IfMatch() {}
+
+    /**
+     * Version named by an If-Match header
+     * @param header If-Match header value (may be null)
+     * @return Long - The expected version, or null if the client did not name one
+     * @throws IllegalArgumentException if the entity tag is not a version number
+     */
+    public static Long version(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.valueOf(tag);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must name a single version number: " + header);
+        }
+    }
+
+    /**
+     * Expected version from a request field, falling back to the If-Match header
+     * @param requested Version sent in the request (may be null)
+     * @param header If-Match header value (may be null)
+     * @return Long - The expected version, or null if neither names one
+     * @throws IllegalArgumentException if both are given and disagree
+     */
+    public static Long version(Long requested, String header) {
+        Long fromHeader = version(header);
+        if (requested != null && fromHeader != null && !requested.equals(fromHeader)) {
+            throw new IllegalArgumentException("Version " + requested + " does not match If-Match " + header);
+        }
+        return requested != null ? requested : fromHeader;
+    }
+}
@@ -0,0 +1,139 @@
+package com.jobportal.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Import Reader
+ * Reads an uploaded NDJSON or CSV file a batch of lines at a time, so an import of any size never has
+ * more than one batch in memory. Records are returned as raw text with their line number and parsed
+ * by the caller (in parallel, off the reading thread).
+ * CSV files start with a header line; quoted cells may contain commas and doubled quotes but not line
+ * breaks. Blank lines are skipped.
+ */
+public class ImportReader {
+
+    private final BufferedReader reader;
+    private final List<String> header;
+    private long lineNumber;
+
+    /**
+     * @param in Upload stream (not closed by this reader)
+     * @param format Upload format (the CSV header line is read immediately)
+     * @throws IllegalArgumentException if a CSV upload has no readable header line
+     */
+    public ImportReader(InputStream in, ExportFormat format) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024);
+        if (format == ExportFormat.CSV) {
+            Record headerLine = nextRecord();
+            if (headerLine == null) {
+                throw new IllegalArgumentException("CSV import is missing its header line");
+            }
+            this.header = splitCsvLine(headerLine.getText()).stream().map(String::trim).toList();
+        } else {
+            this.header = null;
+        }
+    }
+
+    /**
+     * Read the next batch of records
+     * @param size Maximum number of records
+     * @return List<Record> - Up to size records, empty at the end of the upload
+     */
+    public List<Record> nextBatch(int size) throws IOException {
+        List<Record> batch = new ArrayList<>(size);
+        Record record;
+        while (batch.size() < size && (record = nextRecord()) != null) {
+            batch.add(record);
+        }
+        return batch;
+    }
+
+    /**
+     * Split a CSV record into header column -> cell text (empty cells are left out)
+     * @param text Record text
+     * @return Map<String, String> - Cells by column name
+     * @throws IllegalArgumentException if the record has more cells than the header has columns
+     */
+    public Map<String, String> csvCells(String text) {
+        List<String> cells = splitCsvLine(text);
+        if (cells.size() > header.size()) {
+            throw new IllegalArgumentException("Record has " + cells.size() + " cells but the header has "
+                    + header.size() + " columns");
+        }
+        Map<String, String> byColumn = new LinkedHashMap<>();
+        for (int i = 0; i < cells.size(); i++) {
+            if (!cells.get(i).isEmpty()) {
+                byColumn.put(header.get(i), cells.get(i));
+            }
+        }
+        return byColumn;
+    }
+
+    // Helper methods
+
+    private Record nextRecord() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                return new Record(lineNumber, line);
+            }
+        }
+        return null;
+    }
+
+    private static List<String> splitCsvLine(String line) {
+        List<String> cells = new ArrayList<>();
+        StringBuilder cell = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    cell.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    cell.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                cells.add(cell.toString());
+                cell.setLength(0);
+            } else {
+                cell.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted cell");
+        }
+        cells.add(cell.toString());
+        return cells;
+    }
+
+    /**
+     * One non-blank line of the upload
+     */
+    public static class Record {
+        private final long line;
+        private final String text;
+
+        private Record(long line, String text) {
+            this.line = line;
+            this.text = text;
+        }
+
+        public long getLine() { return line; }
+        public String getText() { return text; }
+    }
+}
@@ -0,0 +1,190 @@
+package com.jobportal.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jobportal.response.JobFeedEntry;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Job Feed Writer
+ * Writes the aggregator job feed to a response stream as NDJSON (one entry per line, then a
+ * {"nextSince": ...} line) or XML (a <jobs nextSince="..."> document with <job> and <deleted>
+ * elements), through a 64 KB buffer that is flushed every flushEvery entries so the client
+ * receives the feed while it is still being read from MongoDB.
+ * Characters that XML 1.0 cannot represent are dropped from XML text.
+ */
+public class JobFeedWriter {
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private final Writer writer;
+    private final ExportFormat format;
+    private final ObjectMapper objectMapper;
+    private final String nextSince;
+    private final int flushEvery;
+    private final XMLStreamWriter xml;
+    private int unflushed;
+
+    /**
+     * @param out Response stream (not closed by this writer)
+     * @param format NDJSON or XML
+     * @param objectMapper Mapper used for NDJSON lines
+     * @param nextSince Token for the next incremental poll
+     * @param flushEvery Entries written between flushes
+     */
+    public JobFeedWriter(OutputStream out, ExportFormat format, ObjectMapper objectMapper, String nextSince,
+                         int flushEvery) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        this.format = format;
+        this.objectMapper = objectMapper;
+        this.nextSince = nextSince;
+        this.flushEvery = Math.max(flushEvery, 1);
+        if (format == ExportFormat.XML) {
+            try {
+                this.xml = XML_OUTPUT_FACTORY.createXMLStreamWriter(writer);
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeStartElement("jobs");
+                xml.writeAttribute("nextSince", nextSince);
+            } catch (XMLStreamException e) {
+                throw new IOException(e);
+            }
+        } else {
+            this.xml = null;
+        }
+    }
+
+    /**
+     * Write one entry; entries reach the client every flushEvery entries and on finish()
+     * @param entry Job or tombstone
+     */
+    public void write(JobFeedEntry entry) {
+        try {
+            if (xml != null) {
+                writeXml(entry);
+            } else {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.write('\n');
+            }
+            if (++unflushed >= flushEvery) {
+                flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            throw new UncheckedIOException(new IOException(e));
+        }
+    }
+
+    /**
+     * Close the document (or write the nextSince line) and flush whatever is still buffered
+     */
+    public void finish() throws IOException {
+        try {
+            if (xml != null) {
+                xml.writeEndElement();
+                xml.writeEndDocument();
+            } else {
+                writer.write(objectMapper.writeValueAsString(Map.of("nextSince", nextSince)));
+                writer.write('\n');
+            }
+            flush();
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
+    // Helper methods
+
+    private void flush() throws IOException {
+        try {
+            if (xml != null) {
+                xml.flush();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+        writer.flush();
+        unflushed = 0;
+    }
+
+    private void writeXml(JobFeedEntry entry) throws XMLStreamException {
+        if (Boolean.TRUE.equals(entry.getDeleted())) {
+            xml.writeEmptyElement("deleted");
+            xml.writeAttribute("id", entry.getId());
+            writeAttribute("updatedAt", entry.getUpdatedAt());
+            return;
+        }
+
+        xml.writeStartElement("job");
+        xml.writeAttribute("id", entry.getId());
+        writeAttribute("updatedAt", entry.getUpdatedAt());
+        writeElement("title", entry.getTitle());
+        writeElement("description", entry.getDescription());
+        writeElement("companyName", entry.getCompanyName());
+        writeElement("location", entry.getLocation());
+        writeElement("jobType", entry.getJobType());
+        writeElement("experienceLevel", entry.getExperienceLevel());
+        writeElement("salaryMin", entry.getSalaryMin());
+        writeElement("salaryMax", entry.getSalaryMax());
+        writeElement("salaryCurrency", entry.getSalaryCurrency());
+        writeList("requiredSkills", "skill", entry.getRequiredSkills());
+        writeList("responsibilities", "responsibility", entry.getResponsibilities());
+        writeList("requirements", "requirement", entry.getRequirements());
+        writeList("benefits", "benefit", entry.getBenefits());
+        writeElement("applicationDeadline", entry.getApplicationDeadline());
+        writeList("tags", "tag", entry.getTags());
+        writeElement("category", entry.getCategory());
+        writeElement("createdAt", entry.getCreatedAt());
+        xml.writeEndElement();
+    }
+
+    private void writeAttribute(String name, Object value) throws XMLStreamException {
+        if (value != null) {
+            xml.writeAttribute(name, xmlText(value));
+        }
+    }
+
+    private void writeElement(String name, Object value) throws XMLStreamException {
+        if (value != null) {
+            xml.writeStartElement(name);
+            xml.writeCharacters(xmlText(value));
+            xml.writeEndElement();
+        }
+    }
+
+    private void writeList(String name, String itemName, List<String> values) throws XMLStreamException {
+        if (values != null) {
+            xml.writeStartElement(name);
+            for (String value : values) {
+                writeElement(itemName, value);
+            }
+            xml.writeEndElement();
+        }
+    }
+
+    private static String xmlText(Object value) {
+        String text = value.toString();
+        StringBuilder valid = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            boolean allowed = c == '\t' || c == '\n' || c == '\r' || (c >= 0x20 && c <= 0xFFFD);
+            if (!allowed && valid == null) {
+                valid = new StringBuilder(text.length()).append(text, 0, i);
+            } else if (allowed && valid != null) {
+                valid.append(c);
+            }
+        }
+        return valid == null ? text : valid.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package com.jobportal.util;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset Cursor
+ * Opaque continuation token for cursor pagination over (timestamp desc, _id desc).
+ * The next page starts strictly after the last row that was returned, so MongoDB seeks
+ * straight to it in the index instead of skipping over every earlier row.
+ */
+public final class KeysetCursor {
+
+    // Largest slice a client may ask for
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime position;
+    private final String id;
+
+    private KeysetCursor(LocalDateTime position, String id) {
+        this.position = position;
+        this.id = id;
+    }
+
+    /**
+     * Build the token for the row a page ended on
+     * @param position Sort timestamp of the row (createdAt / appliedAt)
+     * @param id Row ID
+     * @return String - URL-safe token
+     */
+    public static String encode(LocalDateTime position, String id) {
+        String raw = position + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parse a token sent back by a client
+     * @param token Token from a previous page, blank for the first page
+     * @return KeysetCursor, or null for the first page
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    /**
+     * Row limit for a slice query: one row more than the slice, to tell whether another slice exists
+     * Checked before the query is built - limit(0) would read the whole collection
+     * @param size Requested slice size
+     * @return int - size + 1
+     * @throws IllegalArgumentException if size is not between 1 and MAX_PAGE_SIZE
+     */
+    public static int fetchLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size + 1;
+    }
+
+    /**
+     * Sort order the cursor walks in: newest first, _id as tie-breaker
+     * @param field Timestamp field
+     * @return Sort
+     */
+    public static Sort sort(String field) {
+        return Sort.by(Sort.Direction.DESC, field).and(Sort.by(Sort.Direction.DESC, "_id"));
+    }
+
+    /**
+     * Criteria for the rows that come after this cursor in sort(field) order
+     * @param field Timestamp field
+     * @return Criteria - (field < position) or (field == position and _id < id)
+     */
+    public Criteria after(String field) {
+        Object idValue = ObjectId.isValid(id) ? new ObjectId(id) : id;
+        return new Criteria().orOperator(
+                Criteria.where(field).lt(position),
+                new Criteria().andOperator(Criteria.where(field).is(position), Criteria.where("_id").lt(idValue)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.jobportal.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Search Tokenizer
+ * This class normalizes free text into lowercase tokens for indexed search fields
+ */
+public final class SearchTokenizer {
+
+    // Split on anything that is not a letter or digit; keep '+' and '#' so "c++" and "c#" survive
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}+#]+");
+
+    // Characters that must be escaped before a token is used inside a regex
+    private static final Pattern REGEX_META = Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Normalize a value for exact or prefix matching
+     * @param value Raw value
+     * @return Trimmed lowercase value, or null if blank
+     */
+    public static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Split text into distinct lowercase tokens (in order of first appearance)
+     * @param text Raw text
+     * @return List of tokens, empty if text is blank
+     */
+    public static List<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>(terms(text));
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Split text into lowercase terms, keeping repeats (used for term frequencies)
+     * @param text Raw text
+     * @return List of terms, empty if text is blank
+     */
+    public static List<String> terms(String text) {
+        String normalized = normalize(text);
+        List<String> terms = new ArrayList<>();
+        if (normalized == null) {
+            return terms;
+        }
+
+        for (String term : TOKEN_SEPARATOR.split(normalized)) {
+            if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Build an anchored prefix regex for a token (index friendly)
+     * @param token Normalized token
+     * @return Regex string like "^token"
+     */
+    public static String prefixRegex(String token) {
+        return "^" + REGEX_META.matcher(token).replaceAll("\\\\$0");
+    }
+}
@@ -0,0 +1,125 @@
+package com.jobportal.benchmark;
+
+import com.jobportal.config.MongoRoundTripCounter;
+import com.jobportal.model.Job;
+import com.jobportal.service.JobDetailCache;
+import com.jobportal.service.JobService;
+import com.jobportal.service.JobViewCounter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Job Detail Load Test
+ * Hammers getJobById for one hot job at growing concurrency, starting from a cold cache each round,
+ * and reports requests/s against MongoDB commands/s. With request coalescing the number of MongoDB
+ * commands per round stays flat (one job load plus its employer) however many threads miss together.
+ * Only commands sent from the worker threads are counted (the cache loads on the calling thread), so
+ * background work such as the home page feed rebuild does not skew a round. The benchmark runs against
+ * its own jobportal_benchmark database and removes its job afterwards.
+ * Needs a running MongoDB, so it is skipped unless started explicitly:
+ *   mvn test -Dtest=JobDetailLoadTest -Djobportal.benchmark=true
+ */
+@SpringBootTest(properties = {
+        "spring.data.mongodb.database=jobportal_benchmark",
+        "jobportal.mongo.initialize-schema=false",
+        "jobportal.search.index.enabled=false",
+        "jobportal.views.flush-interval-ms=3600000"
+})
+@EnabledIfSystemProperty(named = "jobportal.benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JobDetailLoadTest {
+
+    private static final int[] CONCURRENCY = { 1, 8, 32, 128, 512 };
+    private static final int REQUESTS_PER_THREAD = 200;
+
+    // One job load and one employer DBRef load
+    private static final long MAX_COMMANDS_PER_ROUND = 2;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobDetailCache jobDetailCache;
+
+    @Autowired
+    private JobViewCounter jobViewCounter;
+
+    private String jobId;
+
+    @BeforeAll
+    void seedJob() {
+        assertEquals("jobportal_benchmark", mongoTemplate.getDb().getName(), "Refusing to seed a non-benchmark database");
+        Job job = new Job("Viral Java Developer", "Load test job", "Company", "Pune", "FULL_TIME", "1-2 YEARS", null);
+        jobId = mongoTemplate.insert(job).getId();
+    }
+
+    @AfterAll
+    void removeJob() {
+        if (jobId != null) {
+            mongoTemplate.remove(new Query(Criteria.where("_id").is(jobId)), Job.class);
+        }
+    }
+
+    @Test
+    void mongoCommandsStayFlatAsConcurrencyGrows() throws Exception {
+        for (int threads : CONCURRENCY) {
+            jobDetailCache.evict(jobId);
+            long viewsBefore = jobViewCounter.getPendingViews(jobId);
+            LongAdder workerCommands = new LongAdder();
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    start.await();
+                    MongoRoundTripCounter.reset();
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        jobService.getJobById(jobId);
+                    }
+                    workerCommands.add(MongoRoundTripCounter.current());
+                    MongoRoundTripCounter.clear();
+                    return null;
+                }));
+            }
+
+            long startedAt = System.nanoTime();
+            start.countDown();
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+            double seconds = (System.nanoTime() - startedAt) / 1e9;
+            executor.shutdown();
+
+            long requests = (long) threads * REQUESTS_PER_THREAD;
+            long commands = workerCommands.sum();
+            System.out.printf("threads=%-4d requests/s=%-10.0f mongo commands=%d (%.1f/s)%n",
+                    threads, requests / seconds, commands, commands / seconds);
+
+            assertTrue(commands <= MAX_COMMANDS_PER_ROUND, "Concurrent misses were not coalesced: " + commands);
+            assertEquals(requests, jobViewCounter.getPendingViews(jobId) - viewsBefore, "Every request records a view");
+        }
+    }
+}
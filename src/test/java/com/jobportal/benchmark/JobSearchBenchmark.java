@@ -0,0 +1,123 @@
+package com.jobportal.benchmark;
+
+import com.jobportal.config.MongoSchemaInitializer;
+import com.jobportal.model.Job;
+import com.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Job Search Benchmark
+ * Compares the legacy regex search with the index-backed search on a large jobs collection.
+ * Needs a running MongoDB, so it is skipped unless started explicitly:
+ *   mvn test -Dtest=JobSearchBenchmark -Djobportal.benchmark=true [-Djobportal.benchmark.jobs=1000000]
+ * No results are recorded in the repository; measure on the target hardware before quoting any.
+ * The search logic itself is covered by the plain unit tests (SearchTokenizerTest, JobSearchIndexTest).
+ */
+@SpringBootTest(properties = {
+        "spring.data.mongodb.database=jobportal_benchmark",
+        "jobportal.mongo.initialize-schema=false"
+})
+@EnabledIfSystemProperty(named = "jobportal.benchmark", matches = "true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JobSearchBenchmark {
+
+    private static final String[] TITLES = { "Java Developer", "Senior Backend Engineer", "Frontend Developer",
+            "Data Scientist", "Product Manager", "DevOps Engineer", "QA Analyst", "Marketing Specialist",
+            "Sales Executive", "UX Designer", "Mobile Developer", "Cloud Architect" };
+    private static final String[] LOCATIONS = { "Pune", "Mumbai", "Bangalore", "Hyderabad", "Delhi", "Remote" };
+    private static final String[] JOB_TYPES = { "FULL_TIME", "PART_TIME", "CONTRACT", "INTERNSHIP" };
+    private static final String[] STATUSES = { "ACTIVE", "ACTIVE", "ACTIVE", "CLOSED", "DRAFT" };
+
+    private static final int WARMUP_QUERIES = 20;
+    private static final int MEASURED_QUERIES = 200;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private MongoSchemaInitializer mongoSchemaInitializer;
+
+    @BeforeAll
+    void seedJobs() {
+        int target = Integer.getInteger("jobportal.benchmark.jobs", 1_000_000);
+        long existing = mongoTemplate.estimatedCount(Job.class);
+        Random random = new Random(42);
+
+        List<Job> batch = new ArrayList<>();
+        for (long i = existing; i < target; i++) {
+            Job job = new Job(TITLES[random.nextInt(TITLES.length)] + " " + i, "Benchmark job",
+                    "Company " + (i % 500), LOCATIONS[random.nextInt(LOCATIONS.length)],
+                    JOB_TYPES[random.nextInt(JOB_TYPES.length)], "1-2 YEARS", null);
+            job.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            batch.add(job);
+            if (batch.size() == 10_000) {
+                mongoTemplate.insert(batch, Job.class);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            mongoTemplate.insert(batch, Job.class);
+        }
+
+        mongoSchemaInitializer.initialize();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void compareSearchLatency() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("createdAt").descending());
+
+        report("legacy regex", query -> jobRepository.searchJobs(
+                query[0] == null ? "" : query[0], query[1] == null ? "" : query[1],
+                query[2] == null ? "" : query[2], pageable));
+        report("indexed criteria", query -> jobRepository.searchActiveJobs(query[0], query[1], query[2], pageable));
+    }
+
+    // Helper methods
+
+    private void report(String name, Consumer<String[]> search) {
+        Random random = new Random(7);
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            search.accept(randomQuery(random));
+        }
+
+        long[] nanos = new long[MEASURED_QUERIES];
+        for (int i = 0; i < MEASURED_QUERIES; i++) {
+            String[] query = randomQuery(random);
+            long start = System.nanoTime();
+            search.accept(query);
+            nanos[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(nanos);
+        System.out.printf("%-18s p50=%.1fms p99=%.1fms max=%.1fms%n", name,
+                nanos[MEASURED_QUERIES / 2] / 1e6,
+                nanos[(int) (MEASURED_QUERIES * 0.99)] / 1e6,
+                nanos[MEASURED_QUERIES - 1] / 1e6);
+    }
+
+    private String[] randomQuery(Random random) {
+        String title = TITLES[random.nextInt(TITLES.length)].split(" ")[0];
+        String location = random.nextBoolean() ? LOCATIONS[random.nextInt(LOCATIONS.length)] : null;
+        String jobType = random.nextInt(3) == 0 ? JOB_TYPES[random.nextInt(JOB_TYPES.length)] : null;
+        return new String[] { title, location, jobType };
+    }
+}
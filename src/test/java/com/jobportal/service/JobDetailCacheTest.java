@@ -0,0 +1,114 @@
+package com.jobportal.service;
+
+import com.jobportal.model.Job;
+import com.jobportal.repository.JobRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobDetailCacheTest {
+
+    private static final int CALLERS = 8;
+
+    private JobRepository jobRepository;
+    private JobDetailCache cache;
+    private ExecutorService callers;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        cache = new JobDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(cache, "jobRepository", jobRepository);
+        callers = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        Job job = job("job-1");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jobRepository.findById("job-1")).thenAnswer(invocation -> {
+            loading.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return Optional.of(job);
+        });
+
+        List<Future<Optional<Job>>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(callers.submit(() -> cache.findById("job-1")));
+        }
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        // Give the other callers time to reach the cache while the first load is still running
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<Optional<Job>> result : results) {
+            assertSame(job, result.get(5, TimeUnit.SECONDS).orElseThrow());
+        }
+        verify(jobRepository, times(1)).findById("job-1");
+    }
+
+    @Test
+    void hitsAreServedWithoutLoading() {
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(job("job-1")));
+
+        cache.findById("job-1");
+        cache.findById("job-1");
+
+        verify(jobRepository, times(1)).findById("job-1");
+    }
+
+    @Test
+    void evictedJobIsLoadedAgain() {
+        Job before = job("job-1");
+        Job after = job("job-1");
+        when(jobRepository.findById("job-1")).thenReturn(Optional.of(before), Optional.of(after));
+
+        assertSame(before, cache.findById("job-1").orElseThrow());
+        cache.evict("job-1");
+
+        assertSame(after, cache.findById("job-1").orElseThrow());
+        verify(jobRepository, times(2)).findById("job-1");
+    }
+
+    @Test
+    void missingJobIsNotCached() {
+        when(jobRepository.findById("job-1")).thenReturn(Optional.empty(), Optional.of(job("job-1")));
+
+        assertFalse(cache.findById("job-1").isPresent());
+        assertTrue(cache.findById("job-1").isPresent());
+    }
+
+    // Helper methods
+
+    private static Job job(String id) {
+        Job job = new Job();
+        job.setId(id);
+        return job;
+    }
+}
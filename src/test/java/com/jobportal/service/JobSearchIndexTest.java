@@ -0,0 +1,137 @@
+package com.jobportal.service;
+
+import com.jobportal.model.Job;
+import com.jobportal.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Page;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobSearchIndexTest {
+
+    private JobRepository jobRepository;
+    private JobSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findSummariesByIds(any())).thenReturn(List.of());
+        index = new JobSearchIndex();
+        ReflectionTestUtils.setField(index, "jobRepository", jobRepository);
+        ReflectionTestUtils.setField(index, "enabled", true);
+    }
+
+    @Test
+    void relevanceOutranksRecency() {
+        index.index(job("1", "Java Developer", "Java services, java tooling", "Pune", 1));
+        index.index(job("2", "Java Developer", "Services", "Pune", 2));
+        index.index(job("3", "Go Developer", "Java interop", "Pune", 3));
+
+        assertEquals(List.of("1", "2"), search("java"));
+    }
+
+    @Test
+    void everyKeywordMustPrefixATitleToken() {
+        index.index(job("1", "Senior Java Developer", "Spring", "Pune", 1));
+        index.index(job("2", "Java Tester", "Selenium", "Pune", 2));
+        index.index(job("3", "Developer Advocate", "Talks about java", "Pune", 3));
+
+        assertEquals(List.of("1"), search("jav dev"));
+        assertEquals(List.of(), search("spring"));
+    }
+
+    @Test
+    void locationTokensArePrefixMatched() {
+        index.index(job("1", "Java Developer", "", "New Delhi", 1));
+        index.index(job("2", "Java Developer", "", "Delhi NCR", 2));
+        index.index(job("3", "Java Developer", "", "Mumbai", 3));
+
+        Page<?> page = index.search("java", "del", null, 0, 10);
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("2", "1"), lastLookup());
+    }
+
+    @Test
+    void equalScoresAreNewestFirstAndPaged() {
+        for (int i = 1; i <= 5; i++) {
+            index.index(job(String.valueOf(i), "Java Developer", "", "Pune", i));
+        }
+
+        Page<?> page = index.search("java", null, null, 1, 2);
+
+        assertEquals(5, page.getTotalElements());
+        assertEquals(List.of("3", "2"), lastLookup());
+    }
+
+    @Test
+    void removedAndClosedJobsDropOut() {
+        index.index(job("1", "Java Developer", "", "Pune", 1));
+        index.index(job("2", "Java Developer", "", "Pune", 2));
+        index.index(job("3", "Java Developer", "", "Pune", 3));
+        index.remove("1");
+        Job closed = job("2", "Java Developer", "", "Pune", 2);
+        closed.setStatus("CLOSED");
+        index.index(closed);
+
+        assertEquals(List.of("3"), search("java"));
+    }
+
+    @Test
+    void documentFrequencyCountsOnlyLiveVersions() {
+        // Same length and title; "a" repeats java, "b" repeats rust - the rarer term decides the order
+        index.index(job("a", "Java Rust Developer", "java", "Pune", 1));
+        index.index(job("b", "Java Rust Developer", "rust", "Pune", 2));
+        index.index(job("j1", "Java Engineer", "", "Pune", 3));
+        for (int i = 1; i <= 3; i++) {
+            index.index(job("r" + i, "Rust Engineer", "", "Pune", 3));
+        }
+        for (int i = 1; i <= 20; i++) {
+            index.index(job("g" + i, "Go Engineer", "", "Pune", 3));
+        }
+        assertEquals(List.of("a", "b"), search("java rust"));
+
+        // Replacing j1 leaves stale java postings behind (too few to compact); java is still the rarer term
+        for (int i = 0; i < 4; i++) {
+            index.index(job("j1", "Java Engineer", "", "Pune", 3));
+        }
+        assertEquals(List.of("a", "b"), search("java rust"));
+    }
+
+    // Helper methods
+
+    private List<String> search(String keywords) {
+        index.search(keywords, null, null, 0, 10);
+        return lastLookup();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> lastLookup() {
+        ArgumentCaptor<Collection<String>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(jobRepository, atLeastOnce()).findSummariesByIds(ids.capture());
+        return List.copyOf(ids.getValue());
+    }
+
+    private static Job job(String id, String title, String description, String location, int day) {
+        Job job = new Job();
+        job.setId(id);
+        job.setTitle(title);
+        job.setDescription(description);
+        job.setLocation(location);
+        job.setJobType("FULL_TIME");
+        job.setCreatedAt(LocalDateTime.of(2024, 1, day, 9, 0));
+        return job;
+    }
+}
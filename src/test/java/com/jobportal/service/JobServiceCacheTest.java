@@ -0,0 +1,107 @@
+package com.jobportal.service;
+
+import com.jobportal.model.Job;
+import com.jobportal.model.User;
+import com.jobportal.repository.JobCountCache;
+import com.jobportal.repository.JobRepository;
+import com.jobportal.repository.StatusCounters;
+import com.jobportal.request.JobRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Every job write must drop the cached job detail, or readers keep seeing the old version until it expires
+ */
+@ExtendWith(MockitoExtension.class)
+class JobServiceCacheTest {
+
+    private static final String JOB_ID = "job-1";
+    private static final String EMPLOYER_ID = "employer-1";
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private CurrentUserHolder currentUserHolder;
+
+    @Mock
+    private JobSearchIndex jobSearchIndex;
+
+    @Mock
+    private JobViewCounter jobViewCounter;
+
+    @Mock
+    private JobCountCache jobCountCache;
+
+    @Mock
+    private JobDetailCache jobDetailCache;
+
+    @Mock
+    private ResponseByteCache responseByteCache;
+
+    @Mock
+    private JobFeed jobFeed;
+
+    @Mock
+    private StatusCounters statusCounters;
+
+    @InjectMocks
+    private JobService jobService;
+
+    private Job job;
+
+    @BeforeEach
+    void setUp() {
+        User employer = new User();
+        employer.setId(EMPLOYER_ID);
+        job = new Job();
+        job.setId(JOB_ID);
+        job.setEmployer(employer);
+        job.setVersion(3L);
+        when(currentUserHolder.getUserId()).thenReturn(EMPLOYER_ID);
+    }
+
+    @Test
+    void updateEvictsTheJob() {
+        when(jobRepository.updateOwnedJob(eq(JOB_ID), eq(EMPLOYER_ID), eq(3L), anyMap())).thenReturn(job);
+        JobRequest request = new JobRequest();
+        request.setVersion(3L);
+
+        jobService.updateJob(JOB_ID, request);
+
+        verify(jobDetailCache).evict(JOB_ID);
+    }
+
+    @Test
+    void statusChangeEvictsTheJob() {
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+        when(jobRepository.updateIfVersion(eq(JOB_ID), eq(3L), anyMap())).thenReturn(true);
+
+        jobService.changeJobStatus(JOB_ID, "CLOSED", 3L);
+
+        verify(jobDetailCache).evict(JOB_ID);
+        verify(jobSearchIndex).index(any(Job.class));
+    }
+
+    @Test
+    void deleteEvictsTheJob() {
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job));
+
+        jobService.deleteJob(JOB_ID);
+
+        verify(jobDetailCache).evict(JOB_ID);
+        verify(jobSearchIndex).remove(JOB_ID);
+    }
+}
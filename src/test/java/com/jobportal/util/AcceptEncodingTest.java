@@ -0,0 +1,38 @@
+package com.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+    @Test
+    void listedGzipIsAccepted() {
+        assertTrue(AcceptEncoding.acceptsGzip("gzip"));
+        assertTrue(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        assertTrue(AcceptEncoding.acceptsGzip("x-gzip"));
+    }
+
+    @Test
+    void zeroQualityIsARefusal() {
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip; q=0.0, br"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=oops"));
+    }
+
+    @Test
+    void explicitGzipEntryWinsOverTheWildcard() {
+        assertTrue(AcceptEncoding.acceptsGzip("*"));
+        assertFalse(AcceptEncoding.acceptsGzip("*, gzip;q=0"));
+        assertTrue(AcceptEncoding.acceptsGzip("*;q=0, gzip"));
+        assertFalse(AcceptEncoding.acceptsGzip("br, *;q=0"));
+    }
+
+    @Test
+    void missingHeaderMeansIdentity() {
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+        assertFalse(AcceptEncoding.acceptsGzip(" "));
+        assertFalse(AcceptEncoding.acceptsGzip("identity"));
+    }
+}
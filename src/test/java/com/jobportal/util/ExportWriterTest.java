@@ -0,0 +1,55 @@
+package com.jobportal.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ExportWriterTest {
+
+    @Test
+    void csvHasAHeaderAndCrlfLines() throws IOException {
+        assertEquals("name,city\r\nAsha,Pune\r\n", csv(new Object[] { "Asha", "Pune" }));
+    }
+
+    @Test
+    void csvQuotesCellsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        assertEquals("name,city\r\n\"Rao, Asha\",\"Say \"\"hi\"\"\"\r\n", csv(new Object[] { "Rao, Asha", "Say \"hi\"" }));
+        assertEquals("name,city\r\n\"line\nbreak\",\r\n", csv(new Object[] { "line\nbreak", null }));
+    }
+
+    @Test
+    void csvDefusesSpreadsheetFormulas() throws IOException {
+        assertEquals("name,city\r\n'=SUM(A1),'-1\r\n", csv(new Object[] { "=SUM(A1)", -1 }));
+        assertEquals("name,city\r\n\"'+1,2\",'@x\r\n", csv(new Object[] { "+1,2", "@x" }));
+    }
+
+    @Test
+    void ndjsonWritesOneObjectPerLine() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<Map<String, Object>> writer = new ExportWriter<>(out, ExportFormat.NDJSON, new ObjectMapper(),
+                null, row -> new Object[0]);
+
+        writer.writeBatch(List.of(Map.of("a", 1), Map.of("a", 2)));
+        writer.finish();
+
+        assertEquals("{\"a\":1}\n{\"a\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    // Helper methods
+
+    private static String csv(Object[] row) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportWriter<Object[]> writer = new ExportWriter<>(out, ExportFormat.CSV, new ObjectMapper(),
+                new String[] { "name", "city" }, values -> values);
+        writer.write(row);
+        writer.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
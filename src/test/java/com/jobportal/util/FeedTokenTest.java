@@ -0,0 +1,32 @@
+package com.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FeedTokenTest {
+
+    @Test
+    void encodedTokenDecodesToTheSameTime() {
+        LocalDateTime since = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 999_000_000);
+
+        assertEquals(since, FeedToken.decode(FeedToken.encode(since)));
+        assertEquals(since, FeedToken.decode(" " + FeedToken.encode(since) + " "));
+    }
+
+    @Test
+    void blankTokenMeansTheFullFeed() {
+        assertNull(FeedToken.decode(null));
+        assertNull(FeedToken.decode(""));
+    }
+
+    @Test
+    void foreignTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> FeedToken.decode("%%%"));
+        assertThrows(IllegalArgumentException.class, () -> FeedToken.decode("eWVzdGVyZGF5"));
+    }
+}
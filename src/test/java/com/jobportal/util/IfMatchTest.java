@@ -0,0 +1,39 @@
+package com.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IfMatchTest {
+
+    @Test
+    void quotedWeakAndBareTagsNameTheVersion() {
+        assertEquals(3L, IfMatch.version("\"3\""));
+        assertEquals(3L, IfMatch.version("W/\"3\""));
+        assertEquals(3L, IfMatch.version(" 3 "));
+    }
+
+    @Test
+    void missingHeaderOrWildcardMeansNoCheck() {
+        assertNull(IfMatch.version(null));
+        assertNull(IfMatch.version(""));
+        assertNull(IfMatch.version("*"));
+    }
+
+    @Test
+    void nonNumericTagIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> IfMatch.version("\"abc\""));
+        assertThrows(IllegalArgumentException.class, () -> IfMatch.version("\"1\", \"2\""));
+    }
+
+    @Test
+    void requestFieldWinsAndMustAgreeWithTheHeader() {
+        assertEquals(4L, IfMatch.version(4L, null));
+        assertEquals(4L, IfMatch.version(null, "\"4\""));
+        assertEquals(4L, IfMatch.version(4L, "\"4\""));
+        assertNull(IfMatch.version(null, null));
+        assertThrows(IllegalArgumentException.class, () -> IfMatch.version(4L, "\"5\""));
+    }
+}
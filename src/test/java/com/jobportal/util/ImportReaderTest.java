@@ -0,0 +1,76 @@
+package com.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ImportReaderTest {
+
+    @Test
+    void csvCellsAreKeyedByHeaderColumn() throws IOException {
+        ImportReader reader = reader(ExportFormat.CSV, " title ,location,salaryMin\nJava Developer,Pune,50000\n");
+
+        List<ImportReader.Record> batch = reader.nextBatch(10);
+
+        assertEquals(1, batch.size());
+        assertEquals(2, batch.get(0).getLine());
+        assertEquals(Map.of("title", "Java Developer", "location", "Pune", "salaryMin", "50000"),
+                reader.csvCells(batch.get(0).getText()));
+    }
+
+    @Test
+    void quotedCellsKeepCommasAndDoubledQuotes() throws IOException {
+        ImportReader reader = reader(ExportFormat.CSV, "title,description\n\"Dev, Senior\",\"Say \"\"hi\"\"\"\n");
+
+        Map<String, String> cells = reader.csvCells(reader.nextBatch(1).get(0).getText());
+
+        assertEquals("Dev, Senior", cells.get("title"));
+        assertEquals("Say \"hi\"", cells.get("description"));
+    }
+
+    @Test
+    void emptyCellsAreLeftOut() throws IOException {
+        ImportReader reader = reader(ExportFormat.CSV, "title,location,jobType\nDev,,FULL_TIME\n");
+
+        assertEquals(Map.of("title", "Dev", "jobType", "FULL_TIME"), reader.csvCells(reader.nextBatch(1).get(0).getText()));
+    }
+
+    @Test
+    void malformedRecordsAreRejected() throws IOException {
+        ImportReader reader = reader(ExportFormat.CSV, "title,location\n");
+
+        assertThrows(IllegalArgumentException.class, () -> reader.csvCells("a,b,c"));
+        assertThrows(IllegalArgumentException.class, () -> reader.csvCells("\"unterminated,b"));
+    }
+
+    @Test
+    void csvWithoutHeaderIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> reader(ExportFormat.CSV, "\n  \n"));
+    }
+
+    @Test
+    void batchesSkipBlankLinesAndKeepLineNumbers() throws IOException {
+        ImportReader reader = reader(ExportFormat.NDJSON, "{\"a\":1}\n\n{\"a\":2}\n{\"a\":3}\n");
+
+        List<ImportReader.Record> first = reader.nextBatch(2);
+        List<ImportReader.Record> second = reader.nextBatch(2);
+
+        assertEquals(List.of(1L, 3L), first.stream().map(ImportReader.Record::getLine).toList());
+        assertEquals(List.of(4L), second.stream().map(ImportReader.Record::getLine).toList());
+        assertTrue(reader.nextBatch(2).isEmpty());
+    }
+
+    // Helper methods
+
+    private static ImportReader reader(ExportFormat format, String content) throws IOException {
+        return new ImportReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+}
@@ -0,0 +1,58 @@
+package com.jobportal.util;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodedTokenContinuesAfterTheSameRow() {
+        LocalDateTime position = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+        String id = "665f1c2e9b1d4a3e5c7f8a90";
+        String token = KeysetCursor.encode(position, id);
+
+        Document after = KeysetCursor.decode(token).after("createdAt").getCriteriaObject();
+
+        assertFalse(token.contains("=") || token.contains("+") || token.contains("/"));
+        List<?> or = after.getList("$or", Document.class);
+        assertEquals(new Document("createdAt", new Document("$lt", position)), or.get(0));
+        assertEquals(new Document("$and", List.of(new Document("createdAt", position),
+                new Document("_id", new Document("$lt", new ObjectId(id))))), or.get(1));
+    }
+
+    @Test
+    void blankTokenIsTheFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(" "));
+    }
+
+    @Test
+    void foreignTokensAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("not a cursor"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.decode("eWVzdGVyZGF5fGFiYw"));
+    }
+
+    @Test
+    void fetchLimitAsksForOneExtraRow() {
+        assertEquals(21, KeysetCursor.fetchLimit(20));
+        assertEquals(KeysetCursor.MAX_PAGE_SIZE + 1, KeysetCursor.fetchLimit(KeysetCursor.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void fetchLimitRejectsSizesThatWouldReadTheWholeCollection() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.fetchLimit(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.fetchLimit(-1));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.fetchLimit(KeysetCursor.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> KeysetCursor.fetchLimit(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,40 @@
+package com.jobportal.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTokenizerTest {
+
+    @Test
+    void tokenizeLowercasesSplitsAndDropsRepeats() {
+        assertEquals(List.of("senior", "java", "developer"), SearchTokenizer.tokenize("  Senior JAVA / java-Developer "));
+    }
+
+    @Test
+    void termsKeepRepeatsForTermFrequencies() {
+        assertEquals(List.of("java", "java", "spring"), SearchTokenizer.terms("Java, java; Spring"));
+    }
+
+    @Test
+    void languageNamesWithSymbolsSurvive() {
+        assertEquals(List.of("c++", "c#", "node"), SearchTokenizer.tokenize("C++ / C# (Node)"));
+    }
+
+    @Test
+    void blankTextHasNoTokens() {
+        assertTrue(SearchTokenizer.tokenize(null).isEmpty());
+        assertTrue(SearchTokenizer.tokenize("   ").isEmpty());
+        assertNull(SearchTokenizer.normalize(" "));
+    }
+
+    @Test
+    void prefixRegexEscapesMetacharacters() {
+        assertEquals("^c\\+\\+", SearchTokenizer.prefixRegex("c++"));
+        assertTrue("c++ developer".matches(SearchTokenizer.prefixRegex("c++") + ".*"));
+    }
+}